@@ -0,0 +1,97 @@
+package ru.practicum.shareit.benchmark;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemDtoMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Тестовые сущности для бенчмарков: заполнены так же, как после загрузки из базы.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class BenchmarkData {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    static User user(long id) {
+        return User.builder()
+                .id(id)
+                .name("Пользователь " + id)
+                .email("user" + id + "@mail.ru")
+                .build();
+    }
+
+    static ItemRequest request(long id, User requestor) {
+        return ItemRequest.builder()
+                .id(id)
+                .description("Нужна вещь номер " + id + " на выходные")
+                .requestor(requestor)
+                .created(NOW.minusDays(id))
+                .build();
+    }
+
+    static List<Item> items(int size) {
+        User owner = user(1L);
+        User requestor = user(2L);
+        List<Item> items = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            items.add(Item.builder()
+                    .id(id)
+                    .name("Вещь " + id)
+                    .description("Описание вещи " + id + ", в хорошем состоянии")
+                    .available(true)
+                    .owner(owner)
+                    .request(id % 2 == 0 ? request(id, requestor) : null)
+                    .build());
+        }
+        return items;
+    }
+
+    static List<Booking> bookings(Item item, int size) {
+        User booker = user(3L);
+        List<Booking> bookings = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            bookings.add(Booking.builder()
+                    .id(id)
+                    .start(NOW.plusDays(id))
+                    .end(NOW.plusDays(id + 1))
+                    .item(item)
+                    .booker(booker)
+                    .status(Status.WAITING)
+                    .build());
+        }
+        return bookings;
+    }
+
+    static List<Comment> comments(Item item, int size) {
+        User author = user(3L);
+        List<Comment> comments = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            comments.add(Comment.builder()
+                    .id(id)
+                    .text("Отзыв " + id + ": всё отлично")
+                    .item(item)
+                    .author(author)
+                    .created(Instant.parse("2025-01-01T12:00:00Z").plusSeconds(id))
+                    .build());
+        }
+        return comments;
+    }
+
+    static List<ItemDto> answers(int size) {
+        return items(size).stream()
+                .map(ItemDtoMapper::mapToDto)
+                .toList();
+    }
+}
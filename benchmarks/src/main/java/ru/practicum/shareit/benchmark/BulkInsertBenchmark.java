@@ -0,0 +1,131 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.NewItemRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Массовая вставка в H2 в памяти: импорт вещей через сервис и сохранение пачки бронирований.
+ * batchSize = 1 отключает пакеты JDBC и показывает цену вставки по одной строке.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkInsertBenchmark {
+
+    @Param({"1", "50"})
+    int batchSize;
+
+    @Param({"1000"})
+    int size;
+
+    ConfigurableApplicationContext context;
+    ItemService itemService;
+    ItemRepository itemRepository;
+    BookingRepository bookingRepository;
+    TransactionTemplate transaction;
+    User owner;
+    User booker;
+    Item item;
+    List<NewItemRequest> requests;
+
+    @Setup(Level.Trial)
+    public void startServer() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run("--spring.profiles.active=test",
+                        "--spring.datasource.url=jdbc:h2:mem:bulk-insert",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+        itemService = context.getBean(ItemService.class);
+        itemRepository = context.getBean(ItemRepository.class);
+        bookingRepository = context.getBean(BookingRepository.class);
+        transaction = context.getBean(TransactionTemplate.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        owner = userRepository.save(User.builder().name("Владелец").email("owner@mail.ru").build());
+        booker = userRepository.save(User.builder().name("Арендатор").email("booker@mail.ru").build());
+        requests = IntStream.range(0, size)
+                .mapToObj(i -> NewItemRequest.builder()
+                        .name("Вещь " + i)
+                        .description("Описание вещи " + i + ", в хорошем состоянии")
+                        .available(true)
+                        .build())
+                .toList();
+    }
+
+    @Setup(Level.Iteration)
+    public void createItem() {
+        item = itemRepository.save(Item.builder()
+                .name("Дрель")
+                .description("Ударная дрель")
+                .available(true)
+                .owner(owner)
+                .build());
+    }
+
+    @TearDown(Level.Iteration)
+    public void clean() {
+        bookingRepository.deleteAllInBatch();
+        itemRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServer() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemDto> importItems() {
+        return itemService.addAll(owner.getId(), requests);
+    }
+
+    @Benchmark
+    public List<Booking> saveBookings() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Booking> bookings = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            bookings.add(Booking.builder()
+                    .start(start.plusDays(i))
+                    .end(start.plusDays(i).plusHours(12))
+                    .item(item)
+                    .booker(booker)
+                    .status(Status.WAITING)
+                    .build());
+        }
+        return transaction.execute(status -> bookingRepository.saveAll(bookings));
+    }
+}
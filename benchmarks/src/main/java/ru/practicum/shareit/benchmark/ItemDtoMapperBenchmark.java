@@ -0,0 +1,62 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemDtoMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Маппинг списков вещей: поиск и список вещей владельца с бронированиями и отзывами.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemDtoMapperBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int size;
+
+    List<Item> items;
+    List<Booking> bookings;
+    List<Comment> comments;
+
+    @Setup
+    public void setUp() {
+        items = BenchmarkData.items(size);
+        bookings = BenchmarkData.bookings(items.getFirst(), 5);
+        comments = BenchmarkData.comments(items.getFirst(), 10);
+    }
+
+    @Benchmark
+    public List<ItemDto> mapToDto() {
+        return items.stream()
+                .map(ItemDtoMapper::mapToDto)
+                .toList();
+    }
+
+    @Benchmark
+    public void mapToItemDtoBooking(Blackhole blackhole) {
+        for (Item item : items) {
+            blackhole.consume(ItemDtoMapper.mapToItemDtoBooking(item, bookings, comments));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.mapper.BookingDtoMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Сериализация страницы бронирований в JSON так, как её пишет сервер, с Blackbird и без,
+ * а также та же страница, сжатая gzip. Размеры ответа до и после сжатия печатаются в конце прогона.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonResponseBenchmark {
+
+    @Param({"10", "100"})
+    int size;
+
+    @Param({"default", "blackbird"})
+    String jackson;
+
+    ObjectMapper mapper;
+    List<BookingDto> bookings;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JsonMapper.Builder builder = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if ("blackbird".equals(jackson)) {
+            builder.addModule(new BlackbirdModule());
+        }
+        mapper = builder.build();
+        bookings = BenchmarkData.bookings(BenchmarkData.items(2).getLast(), size).stream()
+                .map(BookingDtoMapper::mapToBookingDto)
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void printSizes() throws IOException {
+        System.out.printf("%n%d бронирований: %d байт JSON, %d байт gzip%n",
+                size, writeJson().length, writeGzip().length);
+    }
+
+    @Benchmark
+    public byte[] writeJson() throws IOException {
+        return mapper.writeValueAsBytes(bookings);
+    }
+
+    @Benchmark
+    public byte[] writeGzip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            mapper.writeValue(gzip, bookings);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.dto.ItemRequestListAnswerDto;
+import ru.practicum.shareit.request.mapper.RequestDtoMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Маппинг запросов пользователя вместе с ответами на них.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestDtoMapperBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int size;
+
+    List<ItemRequest> requests;
+    List<ItemDto> answers;
+
+    @Setup
+    public void setUp() {
+        User requestor = BenchmarkData.user(2L);
+        requests = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            requests.add(BenchmarkData.request(id, requestor));
+        }
+        answers = BenchmarkData.answers(3);
+    }
+
+    @Benchmark
+    public List<ItemRequestListAnswerDto> mapToRequestWithList() {
+        return requests.stream()
+                .map(request -> RequestDtoMapper.mapToRequestWithList(request, answers))
+                .toList();
+    }
+}
@@ -0,0 +1,131 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Пропускная способность сервера по HTTP при синхронном логировании (logback-sync.xml модуля бенчмарков:
+ * тот же шаблон и выборка, что у сервера, но без очереди), асинхронном (logback-spring.xml сервера)
+ * и выключенном логировании сервисов.
+ * Консоль перенаправляется в пустой поток: измеряется форматирование и конкуренция за аппендер, а не терминал.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestLoggingBenchmark {
+
+    private static final int ITEMS = 100;
+
+    @Param({"sync", "async", "off"})
+    String logging;
+
+    ConfigurableApplicationContext context;
+    HttpClient http;
+    PrintStream console;
+    String baseUrl;
+    long ownerId;
+    List<Long> itemIds;
+
+    @Setup(Level.Trial)
+    public void startServer() {
+        console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream(), false, StandardCharsets.UTF_8));
+        List<String> args = new ArrayList<>(List.of("--spring.profiles.active=test",
+                "--spring.datasource.url=jdbc:h2:mem:request-logging",
+                "--server.port=0",
+                "--logging.config=classpath:" + ("sync".equals(logging) ? "logback-sync.xml" : "logback-spring.xml")));
+        if ("off".equals(logging)) {
+            args.add("--logging.level.ru.practicum.shareit=OFF");
+        }
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .logStartupInfo(false)
+                .run(args.toArray(String[]::new));
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        User owner = context.getBean(UserRepository.class)
+                .save(User.builder().name("Владелец").email("owner@mail.ru").build());
+        ownerId = owner.getId();
+        List<Item> items = IntStream.range(0, ITEMS)
+                .mapToObj(i -> Item.builder()
+                        .name("drill " + i)
+                        .description("hammer drill " + i)
+                        .available(true)
+                        .owner(owner)
+                        .build())
+                .toList();
+        itemIds = context.getBean(ItemRepository.class).saveAll(items).stream()
+                .map(Item::getId)
+                .toList();
+        http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServer() {
+        context.close();
+        System.setOut(console);
+    }
+
+    @Benchmark
+    public int getItem(ThreadCursor cursor) throws IOException, InterruptedException {
+        return get("/items/" + itemIds.get(cursor.next(ITEMS)));
+    }
+
+    @Benchmark
+    public int searchItems(ThreadCursor cursor) throws IOException, InterruptedException {
+        return get("/items/search?text=drill+" + cursor.next(ITEMS));
+    }
+
+    private int get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("X-Sharer-User-Id", String.valueOf(ownerId))
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        return http.send(request, HttpResponse.BodyHandlers.ofByteArray()).body().length;
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadCursor {
+        int position;
+
+        int next(int bound) {
+            position = (position + 1) % bound;
+            return position;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Запрос списка к серверу по HTTP в том виде, в каком его делает gateway: JSON или Smile, со сжатием gzip и без,
+ * с распаковкой и перекодированием Smile в JSON для клиента. Размеры ответов печатаются в конце прогона.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WireFormatBenchmark {
+
+    private static final int ROWS = 100;
+    private static final String SMILE = "application/x-jackson-smile";
+
+    @Param({"json", "json-gzip", "smile", "smile-gzip"})
+    String format;
+
+    ConfigurableApplicationContext context;
+    HttpClient http;
+    PrintStream console;
+    String baseUrl;
+    long ownerId;
+    JsonFactory jsonFactory;
+    SmileFactory smileFactory;
+
+    @Setup(Level.Trial)
+    public void startServer() {
+        console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream(), false, StandardCharsets.UTF_8));
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .logStartupInfo(false)
+                .run("--spring.profiles.active=test",
+                        "--spring.datasource.url=jdbc:h2:mem:wire-format",
+                        "--server.port=0",
+                        "--logging.level.ru.practicum.shareit=OFF");
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        UserRepository users = context.getBean(UserRepository.class);
+        User owner = users.save(User.builder().name("Владелец").email("owner@mail.ru").build());
+        User requestor = users.save(User.builder().name("Автор запросов").email("requestor@mail.ru").build());
+        ownerId = owner.getId();
+        List<ItemRequest> requests = context.getBean(ItemRequestRepository.class).saveAll(IntStream.range(0, ROWS)
+                .mapToObj(i -> ItemRequest.builder()
+                        .description("Нужна вещь номер " + i + " на выходные")
+                        .requestor(requestor)
+                        .created(LocalDateTime.of(2025, 1, 1, 12, 0).minusHours(i))
+                        .build())
+                .toList());
+        context.getBean(ItemRepository.class).saveAll(IntStream.range(0, ROWS)
+                .mapToObj(i -> Item.builder()
+                        .name("Вещь " + i)
+                        .description("Описание вещи " + i + ", в хорошем состоянии")
+                        .available(true)
+                        .owner(owner)
+                        .request(requests.get(i))
+                        .build())
+                .toList());
+        http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        jsonFactory = new JsonFactory();
+        smileFactory = new SmileFactory();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServer() throws IOException, InterruptedException {
+        System.setOut(console);
+        System.out.printf("%n%s: /items %d байт, /requests/all %d байт по сети%n",
+                format, send("/items").body().length, send("/requests/all").body().length);
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] ownerItems() throws IOException, InterruptedException {
+        return toClientJson(send("/items"));
+    }
+
+    @Benchmark
+    public byte[] allRequests() throws IOException, InterruptedException {
+        return toClientJson(send("/requests/all"));
+    }
+
+    private HttpResponse<byte[]> send(String path) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("X-Sharer-User-Id", String.valueOf(ownerId))
+                .GET();
+        request.header("Accept", format.startsWith("smile") ? SMILE + ", application/json" : "application/json");
+        if (format.endsWith("-gzip")) {
+            request.header("Accept-Encoding", "gzip");
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    // то, что gateway делает с телом перед ответом клиенту
+    private byte[] toClientJson(HttpResponse<byte[]> response) throws IOException {
+        byte[] body = response.body();
+        if (response.headers().firstValue("Content-Encoding").filter("gzip"::equals).isPresent()) {
+            try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                body = gzip.readAllBytes();
+            }
+        }
+        if (!response.headers().firstValue("Content-Type").orElse("").startsWith(SMILE)) {
+            return body;
+        }
+        ByteArrayOutputStream json = new ByteArrayOutputStream(body.length * 2);
+        try (JsonParser parser = smileFactory.createParser(body);
+             JsonGenerator generator = jsonFactory.createGenerator(json)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEvent(parser);
+            }
+        }
+        return json.toByteArray();
+    }
+}
@@ -0,0 +1,141 @@
+package ru.practicum.shareit.load;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Наполняет сервер данными через gateway: пользователи, запросы, вещи (часть из них в ответ на запросы),
+ * подтверждённые и ожидающие бронирования и отзывы по завершённым бронированиям.
+ */
+@Slf4j
+final class DataSeeder {
+
+    static final List<String> WORDS = List.of(
+            "Дрель", "Пила", "Молоток", "Палатка", "Велосипед",
+            "Лестница", "Перфоратор", "Самокат", "Гитара", "Проектор");
+
+    private final ShareItApi api;
+    private final LoadTestConfig config;
+    private final Random random = new Random(42);
+
+    DataSeeder(ShareItApi api, LoadTestConfig config) {
+        this.api = api;
+        this.config = config;
+    }
+
+    SeededData seed() throws IOException, InterruptedException {
+        long runId = System.currentTimeMillis();
+        List<Long> users = new ArrayList<>(config.users());
+        for (int i = 0; i < config.users(); i++) {
+            users.add(api.createAndGetId("/users", null, Map.of(
+                    "name", "Пользователь " + i,
+                    "email", "load-" + runId + "-" + i + "@shareit.test")));
+        }
+        log.info("Создано пользователей: {}", users.size());
+
+        List<Long> requests = new ArrayList<>();
+        for (long userId : users) {
+            for (int i = 0; i < config.requestsPerUser(); i++) {
+                requests.add(api.createAndGetId("/requests", userId, Map.of(
+                        "description", "Ищу " + WORDS.get(random.nextInt(WORDS.size())).toLowerCase(Locale.ROOT) + " на выходные")));
+            }
+        }
+        log.info("Создано запросов: {}", requests.size());
+
+        Map<Long, List<Long>> itemsByOwner = new LinkedHashMap<>();
+        for (long userId : users) {
+            List<Long> owned = new ArrayList<>(config.itemsPerUser());
+            for (int i = 0; i < config.itemsPerUser(); i++) {
+                String word = WORDS.get((int) ((userId + i) % WORDS.size()));
+                Map<String, Object> item = new HashMap<>();
+                item.put("name", word + " " + i);
+                item.put("description", word + " в хорошем состоянии, владелец " + userId);
+                item.put("available", true);
+                if (!requests.isEmpty() && i % 5 == 0) {
+                    item.put("requestId", requests.get(random.nextInt(requests.size())));
+                }
+                owned.add(api.createAndGetId("/items", userId, item));
+            }
+            itemsByOwner.put(userId, owned);
+        }
+        SeededData data = new SeededData(users, itemsByOwner);
+        log.info("Создано вещей: {}", users.size() * config.itemsPerUser());
+
+        // будущие бронирования у следующего по списку владельца, половина подтверждена
+        for (int u = 0; u < users.size(); u++) {
+            long bookerId = users.get(u);
+            long ownerId = users.get((u + 1) % users.size());
+            for (int i = 0; i < config.bookingsPerUser(); i++) {
+                long bookingId = api.createAndGetId("/bookings", bookerId,
+                        data.nextBooking(data.randomItemOf(ownerId, random)));
+                if (i % 2 == 0) {
+                    approve(bookingId, ownerId);
+                } else {
+                    data.addPending(bookingId, ownerId);
+                }
+            }
+        }
+        log.info("Создано бронирований: {}", users.size() * config.bookingsPerUser());
+
+        seedComments(users, itemsByOwner);
+        return data;
+    }
+
+    // отзыв можно оставить только после окончания бронирования, поэтому бронирования
+    // создаются на ближайшие секунды, а отзывы добавляются после их завершения
+    private void seedComments(List<Long> users, Map<Long, List<Long>> itemsByOwner)
+            throws IOException, InterruptedException {
+        if (config.commentsPerUser() == 0) {
+            return;
+        }
+        // запас по времени, чтобы начало всех бронирований ещё было в будущем на момент создания
+        long bookings = (long) users.size() * config.commentsPerUser();
+        LocalDateTime start = LocalDateTime.now().plusSeconds(2 + bookings / 50).truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime end = start.plusSeconds(1);
+        List<long[]> finished = new ArrayList<>();
+        for (int u = 0; u < users.size(); u++) {
+            long authorId = users.get(u);
+            long ownerId = users.get((u + 2) % users.size());
+            List<Long> owned = itemsByOwner.get(ownerId);
+            for (int i = 0; i < Math.min(config.commentsPerUser(), owned.size()); i++) {
+                long itemId = owned.get(i);
+                HttpResponse<byte[]> response = api.post("/bookings", authorId, Map.of(
+                        "itemId", itemId,
+                        "start", start.toString(),
+                        "end", end.toString()));
+                if (ShareItApi.isSuccess(response.statusCode())) {
+                    approve(api.idOf(response), ownerId);
+                    finished.add(new long[]{authorId, itemId});
+                }
+            }
+        }
+        long wait = Duration.between(LocalDateTime.now(), end).toMillis() + 1_000;
+        if (wait > 0) {
+            Thread.sleep(wait);
+        }
+        for (long[] booking : finished) {
+            api.createAndGetId("/items/" + booking[1] + "/comment", booking[0], Map.of(
+                    "text", "Всё отлично, рекомендую"));
+        }
+        log.info("Создано отзывов: {}", finished.size());
+    }
+
+    private void approve(long bookingId, long ownerId) throws IOException, InterruptedException {
+        int status = api.patch("/bookings/" + bookingId + "?approved=true", ownerId);
+        if (!ShareItApi.isSuccess(status)) {
+            throw new IllegalStateException("Не удалось подтвердить бронирование id = " + bookingId + ": " + status);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.load;
+
+/**
+ * Операции gateway, из которых складывается нагрузка.
+ */
+enum Endpoint {
+    SEARCH("GET /items/search"),
+    ITEM_BY_ID("GET /items/{id}"),
+    OWNER_ITEMS("GET /items"),
+    BOOKER_BOOKINGS("GET /bookings"),
+    OWNER_BOOKINGS("GET /bookings/owner"),
+    CREATE_BOOKING("POST /bookings"),
+    APPROVE_BOOKING("PATCH /bookings/{id}"),
+    OWN_REQUESTS("GET /requests");
+
+    private final String title;
+
+    Endpoint(String title) {
+        this.title = title;
+    }
+
+    String title() {
+        return title;
+    }
+}
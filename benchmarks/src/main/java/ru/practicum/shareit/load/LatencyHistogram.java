@@ -0,0 +1,72 @@
+package ru.practicum.shareit.load;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Гистограмма задержек без блокировок: шаг 10 мкс до 10 мс, дальше шаг 1 мс до 60 с.
+ * Перцентили возвращаются по верхней границе корзины, но не больше максимума.
+ */
+final class LatencyHistogram {
+
+    private static final int FINE_BUCKETS = 1_000;
+    private static final int COARSE_BUCKETS = 60_000;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(FINE_BUCKETS + COARSE_BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    void record(long nanos, boolean success) {
+        buckets.incrementAndGet(bucket(nanos / 1_000));
+        count.increment();
+        if (!success) {
+            errors.increment();
+        }
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    long count() {
+        return count.sum();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    double maxMillis() {
+        return maxNanos.get() / 1_000_000.0;
+    }
+
+    double percentileMillis(double percentile) {
+        long total = count();
+        if (total == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= target) {
+                return Math.min(upperBoundMicros(i) / 1_000.0, maxMillis());
+            }
+        }
+        return maxMillis();
+    }
+
+    private static int bucket(long micros) {
+        if (micros < FINE_BUCKETS * 10L) {
+            return (int) (micros / 10);
+        }
+        long coarse = micros / 1_000 - FINE_BUCKETS / 100;
+        return FINE_BUCKETS + (int) Math.min(coarse, COARSE_BUCKETS - 1);
+    }
+
+    private static long upperBoundMicros(int bucket) {
+        if (bucket < FINE_BUCKETS) {
+            return (bucket + 1) * 10L;
+        }
+        return (bucket - FINE_BUCKETS + FINE_BUCKETS / 100 + 1) * 1_000L;
+    }
+}
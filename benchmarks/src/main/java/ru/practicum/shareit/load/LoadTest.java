@@ -0,0 +1,144 @@
+package ru.practicum.shareit.load;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Нагрузочный прогон через gateway. Сервер и gateway запускаются локально заранее:
+ * сервер с H2 в памяти (mvn -pl server spring-boot:run -Dspring-boot.run.profiles=test
+ * -Dspring-boot.run.useTestClasspath=true) или с профилем по умолчанию (локальный Postgres).
+ *
+ * <p>Запуск: java -cp benchmarks/target/benchmarks.jar ru.practicum.shareit.load.LoadTest
+ * --workload=search-heavy|booking-heavy|owner-dashboard-heavy --concurrency=64
+ * --warmup-seconds=10 --duration-seconds=60 --users=100 --items-per-user=10
+ * --requests-per-user=2 --bookings-per-user=5 --comments-per-user=1 --gateway-url=http://localhost:8080
+ *
+ * <p>После прогона печатает по каждой операции число запросов, пропускную способность,
+ * перцентили задержки и долю ошибок. Запросы во время прогрева в отчёт не попадают.
+ */
+@Slf4j
+public final class LoadTest {
+
+    private final LoadTestConfig config;
+    private final ShareItApi api;
+    private final Map<Endpoint, LatencyHistogram> histograms = new EnumMap<>(Endpoint.class);
+
+    private LoadTest(LoadTestConfig config) {
+        this.config = config;
+        this.api = new ShareItApi(config.gatewayUrl());
+        for (Endpoint endpoint : Endpoint.values()) {
+            histograms.put(endpoint, new LatencyHistogram());
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        LoadTest loadTest = new LoadTest(config);
+        SeededData data = new DataSeeder(loadTest.api, config).seed();
+        loadTest.run(data);
+        loadTest.report();
+    }
+
+    private void run(SeededData data) {
+        log.info("Запускаем нагрузку {}: клиентов {}, прогрев {} с, замер {} с", config.workload().title(),
+                config.concurrency(), config.warmup().toSeconds(), config.duration().toSeconds());
+        long measureFrom = System.nanoTime() + config.warmup().toNanos();
+        long measureTo = measureFrom + config.duration().toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < config.concurrency(); i++) {
+                long seed = i;
+                clients.submit(() -> client(data, new Random(seed), measureFrom, measureTo));
+            }
+        }
+    }
+
+    private void client(SeededData data, Random random, long measureFrom, long measureTo) {
+        while (System.nanoTime() < measureTo) {
+            Endpoint endpoint = config.workload().pick(random);
+            SeededData.PendingBooking pending = null;
+            if (endpoint == Endpoint.APPROVE_BOOKING) {
+                pending = data.pollPending();
+                if (pending == null) {
+                    endpoint = Endpoint.CREATE_BOOKING;
+                }
+            }
+            long started = System.nanoTime();
+            boolean success;
+            try {
+                success = ShareItApi.isSuccess(execute(endpoint, pending, data, random));
+            } catch (IOException e) {
+                success = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long finished = System.nanoTime();
+            if (started >= measureFrom && finished <= measureTo) {
+                histograms.get(endpoint).record(finished - started, success);
+            }
+        }
+    }
+
+    private int execute(Endpoint endpoint, SeededData.PendingBooking pending, SeededData data, Random random)
+            throws IOException, InterruptedException {
+        return switch (endpoint) {
+            case SEARCH -> api.get("/items/search?text=" + URLEncoder.encode(
+                    DataSeeder.WORDS.get(random.nextInt(DataSeeder.WORDS.size())), StandardCharsets.UTF_8), null);
+            case ITEM_BY_ID -> api.get("/items/" + data.randomItem(random), null);
+            case OWNER_ITEMS -> api.get("/items/owner", data.randomUser(random));
+            case BOOKER_BOOKINGS -> api.get("/bookings?state=ALL&from=0&size=20", data.randomUser(random));
+            case OWNER_BOOKINGS -> api.get("/bookings/owner?state=ALL&from=0&size=20", data.randomUser(random));
+            case OWN_REQUESTS -> api.get("/requests", data.randomUser(random));
+            case APPROVE_BOOKING -> api.patch("/bookings/" + pending.bookingId() + "?approved=true", pending.ownerId());
+            case CREATE_BOOKING -> createBooking(data, random);
+        };
+    }
+
+    private int createBooking(SeededData data, Random random) throws IOException, InterruptedException {
+        int bookerIndex = random.nextInt(data.userCount());
+        int ownerIndex = (bookerIndex + 1 + random.nextInt(data.userCount() - 1)) % data.userCount();
+        long ownerId = data.user(ownerIndex);
+        HttpResponse<byte[]> response = api.post("/bookings", data.user(bookerIndex),
+                data.nextBooking(data.randomItemOf(ownerId, random)));
+        if (ShareItApi.isSuccess(response.statusCode())) {
+            data.addPending(api.idOf(response), ownerId);
+        }
+        return response.statusCode();
+    }
+
+    private void report() {
+        double seconds = config.duration().toMillis() / 1_000.0;
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%nПрофиль %s, клиентов %d, замер %.0f с%n",
+                config.workload().title(), config.concurrency(), seconds));
+        report.append(String.format("%-22s %9s %9s %9s %9s %9s %9s %8s %8s%n",
+                "операция", "запросов", "rps", "p50 мс", "p90 мс", "p99 мс", "max мс", "ошибок", "ошибок %"));
+        long total = 0;
+        long errors = 0;
+        for (Endpoint endpoint : Endpoint.values()) {
+            LatencyHistogram histogram = histograms.get(endpoint);
+            if (histogram.count() == 0) {
+                continue;
+            }
+            total += histogram.count();
+            errors += histogram.errors();
+            report.append(String.format("%-22s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %8d %8.2f%n",
+                    endpoint.title(), histogram.count(), histogram.count() / seconds,
+                    histogram.percentileMillis(50), histogram.percentileMillis(90),
+                    histogram.percentileMillis(99), histogram.maxMillis(),
+                    histogram.errors(), 100.0 * histogram.errors() / histogram.count()));
+        }
+        report.append(String.format("%-22s %9d %9.1f %49d %8.2f%n", "всего", total, total / seconds, errors,
+                total == 0 ? 0 : 100.0 * errors / total));
+        System.out.print(report);
+    }
+}
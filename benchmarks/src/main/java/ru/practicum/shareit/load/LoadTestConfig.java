@@ -0,0 +1,56 @@
+package ru.practicum.shareit.load;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Параметры прогона; задаются аргументами вида --имя=значение.
+ */
+record LoadTestConfig(String gatewayUrl,
+                      Workload workload,
+                      int concurrency,
+                      Duration warmup,
+                      Duration duration,
+                      int users,
+                      int itemsPerUser,
+                      int requestsPerUser,
+                      int bookingsPerUser,
+                      int commentsPerUser) {
+
+    LoadTestConfig {
+        if (users < 3) {
+            throw new IllegalArgumentException("Для наполнения данными нужно не меньше трёх пользователей");
+        }
+        if (itemsPerUser < 1 || concurrency < 1) {
+            throw new IllegalArgumentException("Количество вещей и клиентов должно быть положительным");
+        }
+    }
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Ожидался аргумент вида --имя=значение: " + arg);
+            }
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return new LoadTestConfig(
+                values.getOrDefault("gateway-url", "http://localhost:8080"),
+                Workload.fromTitle(values.getOrDefault("workload", Workload.SEARCH_HEAVY.title())),
+                intValue(values, "concurrency", 64),
+                Duration.ofSeconds(intValue(values, "warmup-seconds", 10)),
+                Duration.ofSeconds(intValue(values, "duration-seconds", 60)),
+                intValue(values, "users", 100),
+                intValue(values, "items-per-user", 10),
+                intValue(values, "requests-per-user", 2),
+                intValue(values, "bookings-per-user", 5),
+                intValue(values, "comments-per-user", 1));
+    }
+
+    private static int intValue(Map<String, String> values, String name, int defaultValue) {
+        String value = values.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+}
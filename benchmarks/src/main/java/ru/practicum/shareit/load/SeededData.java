@@ -0,0 +1,72 @@
+package ru.practicum.shareit.load;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Идентификаторы созданных данных, общие для всех клиентов нагрузки.
+ */
+final class SeededData {
+
+    private final List<Long> users;
+    private final Map<Long, List<Long>> itemsByOwner;
+    private final List<Long> items;
+    // каждое новое бронирование получает своё непересекающееся окно в будущем
+    private final AtomicLong bookingSlot = new AtomicLong();
+    private final LocalDateTime bookingBase = LocalDateTime.now().plusDays(7).truncatedTo(ChronoUnit.HOURS);
+    private final Queue<PendingBooking> pendingBookings = new ConcurrentLinkedQueue<>();
+
+    SeededData(List<Long> users, Map<Long, List<Long>> itemsByOwner) {
+        this.users = users;
+        this.itemsByOwner = itemsByOwner;
+        this.items = itemsByOwner.values().stream()
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    int userCount() {
+        return users.size();
+    }
+
+    long user(int index) {
+        return users.get(index);
+    }
+
+    long randomUser(Random random) {
+        return users.get(random.nextInt(users.size()));
+    }
+
+    long randomItem(Random random) {
+        return items.get(random.nextInt(items.size()));
+    }
+
+    long randomItemOf(long ownerId, Random random) {
+        List<Long> owned = itemsByOwner.get(ownerId);
+        return owned.get(random.nextInt(owned.size()));
+    }
+
+    Map<String, Object> nextBooking(long itemId) {
+        LocalDateTime start = bookingBase.plusHours(bookingSlot.getAndIncrement() * 3);
+        return Map.of(
+                "itemId", itemId,
+                "start", start.toString(),
+                "end", start.plusHours(2).toString());
+    }
+
+    void addPending(long bookingId, long ownerId) {
+        pendingBookings.add(new PendingBooking(bookingId, ownerId));
+    }
+
+    PendingBooking pollPending() {
+        return pendingBookings.poll();
+    }
+
+    record PendingBooking(long bookingId, long ownerId) {
+    }
+}
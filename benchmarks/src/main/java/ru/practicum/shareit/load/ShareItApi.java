@@ -0,0 +1,77 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Тонкая обёртка над JDK HttpClient для обращения к gateway.
+ */
+final class ShareItApi {
+
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(TIMEOUT)
+            .build();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final String gatewayUrl;
+
+    ShareItApi(String gatewayUrl) {
+        this.gatewayUrl = gatewayUrl;
+    }
+
+    int get(String path, Long userId) throws IOException, InterruptedException {
+        return send("GET", path, userId, null).statusCode();
+    }
+
+    int patch(String path, long userId) throws IOException, InterruptedException {
+        return send("PATCH", path, userId, null).statusCode();
+    }
+
+    HttpResponse<byte[]> post(String path, Long userId, Object body) throws IOException, InterruptedException {
+        return send("POST", path, userId, body);
+    }
+
+    long createAndGetId(String path, Long userId, Object body) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = post(path, userId, body);
+        if (!isSuccess(response.statusCode())) {
+            throw new IllegalStateException("POST " + path + " вернул " + response.statusCode() + ": "
+                    + new String(response.body(), StandardCharsets.UTF_8));
+        }
+        return idOf(response);
+    }
+
+    long idOf(HttpResponse<byte[]> response) throws IOException {
+        return mapper.readTree(response.body()).get("id").asLong();
+    }
+
+    static boolean isSuccess(int status) {
+        return status >= 200 && status < 300;
+    }
+
+    private HttpResponse<byte[]> send(String method, String path, Long userId, Object body)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(gatewayUrl + path))
+                .timeout(TIMEOUT)
+                .header("Accept", "application/json");
+        if (userId != null) {
+            request.header(USER_HEADER, String.valueOf(userId));
+        }
+        if (body != null) {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
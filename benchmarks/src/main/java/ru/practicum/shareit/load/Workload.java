@@ -0,0 +1,71 @@
+package ru.practicum.shareit.load;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Профили нагрузки: веса операций задают их долю в общем потоке запросов.
+ */
+enum Workload {
+    SEARCH_HEAVY("search-heavy", Map.of(
+            Endpoint.SEARCH, 60,
+            Endpoint.ITEM_BY_ID, 20,
+            Endpoint.OWNER_ITEMS, 5,
+            Endpoint.BOOKER_BOOKINGS, 5,
+            Endpoint.OWNER_BOOKINGS, 5,
+            Endpoint.CREATE_BOOKING, 3,
+            Endpoint.OWN_REQUESTS, 2)),
+    BOOKING_HEAVY("booking-heavy", Map.of(
+            Endpoint.CREATE_BOOKING, 30,
+            Endpoint.APPROVE_BOOKING, 15,
+            Endpoint.BOOKER_BOOKINGS, 25,
+            Endpoint.OWNER_BOOKINGS, 20,
+            Endpoint.ITEM_BY_ID, 5,
+            Endpoint.SEARCH, 5)),
+    OWNER_DASHBOARD_HEAVY("owner-dashboard-heavy", Map.of(
+            Endpoint.OWNER_ITEMS, 40,
+            Endpoint.OWNER_BOOKINGS, 30,
+            Endpoint.OWN_REQUESTS, 15,
+            Endpoint.ITEM_BY_ID, 10,
+            Endpoint.SEARCH, 5));
+
+    private final String title;
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+
+    Workload(String title, Map<Endpoint, Integer> weights) {
+        this.title = title;
+        Map<Endpoint, Integer> ordered = new EnumMap<>(weights);
+        this.endpoints = ordered.keySet().toArray(new Endpoint[0]);
+        this.cumulativeWeights = new int[endpoints.length];
+        int total = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            total += ordered.get(endpoints[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    String title() {
+        return title;
+    }
+
+    Endpoint pick(Random random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        return endpoints[endpoints.length - 1];
+    }
+
+    static Workload fromTitle(String title) {
+        for (Workload workload : values()) {
+            if (workload.title.equals(title)) {
+                return workload;
+            }
+        }
+        throw new IllegalArgumentException("Неизвестный профиль нагрузки: " + title);
+    }
+}
@@ -4,26 +4,36 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.booking.dto.BookingPage;
 import ru.practicum.shareit.booking.dto.NewBookingRequest;
 import ru.practicum.shareit.booking.dto.State;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerWireFormat;
 
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @Component
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl,
+                         ClientHttpRequestFactory requestFactory,
+                         RestTemplateBuilder builder,
+                         ServerWireFormat wireFormat) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl))
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                API_PREFIX,
+                wireFormat
         );
     }
 
@@ -33,27 +43,49 @@ public class BookingClient extends BaseClient {
 
     public ResponseEntity<Object> updateStatus(long userId, long bookingId, boolean approved) {
         Map<String, Object> parameters = Map.of(
+                "bookingId", bookingId,
                 "approved", approved
         );
-        return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
+        return patch("/{bookingId}?approved={approved}", userId, parameters, null);
     }
 
-    public ResponseEntity<Object> findById(long userId, long bookingId) {
-        return get("/" + bookingId, userId);
+    public ResponseEntity<Object> updateStatuses(long userId, List<Long> bookingIds, boolean approved) {
+        return patch("?approved={approved}", userId, Map.of("approved", approved), bookingIds);
     }
 
-    public ResponseEntity<Object> findByBookerId(long userId, State state) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name()
-        );
-        return get("?state={state}", userId, parameters);
+    public ResponseEntity<Object> findById(long userId, long bookingId, String ifNoneMatch) {
+        return conditionalGet("/{bookingId}", userId, Map.of("bookingId", bookingId), ifNoneMatch);
     }
 
-    public ResponseEntity<Object> findByOwnerId(long userId, State state) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name()
-        );
-        return get("/owner", userId, parameters);
+    public ResponseEntity<Object> findByBookerId(long userId, State state, BookingPage page) {
+        Map<String, Object> parameters = listParameters(state, page);
+        return get(query("", parameters), userId, parameters);
+    }
+
+    public ResponseEntity<Object> findByOwnerId(long userId, State state, BookingPage page) {
+        Map<String, Object> parameters = listParameters(state, page);
+        return get(query("/owner", parameters), userId, parameters);
+    }
+
+    // на сервер уходят только заданные параметры: без size сервер возвращает список целиком
+    private static Map<String, Object> listParameters(State state, BookingPage page) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("state", state.name());
+        parameters.put("from", page.getFrom());
+        if (page.getSize() != null) {
+            parameters.put("size", page.getSize());
+        }
+        if (page.getAfterStart() != null) {
+            parameters.put("afterStart", page.getAfterStart());
+            parameters.put("afterId", page.getAfterId());
+        }
+        return parameters;
+    }
+
+    private static String query(String path, Map<String, Object> parameters) {
+        return parameters.keySet().stream()
+                .map(name -> name + "={" + name + "}")
+                .collect(Collectors.joining("&", path + "?", ""));
     }
 
 }
\ No newline at end of file
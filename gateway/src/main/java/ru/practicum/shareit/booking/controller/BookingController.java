@@ -1,27 +1,40 @@
 package ru.practicum.shareit.booking.controller;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.client.BookingClient;
+import ru.practicum.shareit.booking.dto.BookingPage;
 import ru.practicum.shareit.booking.dto.NewBookingRequest;
 import ru.practicum.shareit.booking.dto.State;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @RestController
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 @Validated
 @Slf4j
 public class BookingController {
+    private static final int MAX_BATCH_SIZE = 100;
+
     private final BookingClient bookingClient;
 
     @PostMapping
     public ResponseEntity<Object> add(@RequestBody @Valid NewBookingRequest request,
                                       @RequestHeader("X-Sharer-User-Id") long userId) {
-        log.info("Creating booking {}, userId={}", request, userId);
+        log.info("Creating booking for itemId={}, userId={}", request.getItemId(), userId);
         return bookingClient.add(userId, request);
     }
 
@@ -33,24 +46,49 @@ public class BookingController {
         return bookingClient.updateStatus(userId, bookingId, approved);
     }
 
+    @PatchMapping(params = {"approved"})
+    public ResponseEntity<Object> updateStatuses(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                 @RequestParam(name = "approved") boolean approved,
+                                                 @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                                                 List<@NotNull @Positive Long> bookingIds) {
+        log.info("Начинаем изменение статуса {} бронирований пользователем id = {}", bookingIds.size(), userId);
+        return bookingClient.updateStatuses(userId, bookingIds, approved);
+    }
+
     @GetMapping("/{bookingId}")
     public ResponseEntity<Object> findById(@RequestHeader("X-Sharer-User-Id") long userId,
-                                           @PathVariable("bookingId") long bookingId) {
+                                           @PathVariable("bookingId") long bookingId,
+                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Возвращаем бронирование id = {} для пользователя id = {}", bookingId, userId);
-        return bookingClient.findById(userId, bookingId);
+        return bookingClient.findById(userId, bookingId, ifNoneMatch);
     }
 
+    // без size список возвращается целиком, как раньше; afterStart и afterId задают курсор вместо from
     @GetMapping
     public ResponseEntity<Object> findByBookerId(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                 @RequestParam(defaultValue = "ALL") State state) {
-        log.info("Возвращаем все бронирования для пользователя id = {} по запросу {}", userId, state);
-        return bookingClient.findByBookerId(userId, state);
+                                                 @RequestParam(defaultValue = "ALL") State state,
+                                                 @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                                 @RequestParam(required = false) @Positive Integer size,
+                                                 @RequestParam(required = false)
+                                                 @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterStart,
+                                                 @RequestParam(required = false) @Positive Long afterId) {
+        log.info("Возвращаем все бронирования для пользователя id = {} по запросу {}, from = {}, size = {}, "
+                + "после start = {}, id = {}", userId, state, from, size, afterStart, afterId);
+        BookingPage page = BookingPage.of(from, size, afterStart, afterId);
+        return bookingClient.findByBookerId(userId, state, page);
     }
 
     @GetMapping("/owner")
     public ResponseEntity<Object> findByOwnerId(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                @RequestParam(name = "state", defaultValue = "ALL") State state) {
-        log.info("Возвращаем бронирования для всех вещей пользователя id = {} по запросу {}", userId, state);
-        return bookingClient.findByOwnerId(userId, state);
+                                                @RequestParam(name = "state", defaultValue = "ALL") State state,
+                                                @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                                @RequestParam(required = false) @Positive Integer size,
+                                                @RequestParam(required = false)
+                                                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterStart,
+                                                @RequestParam(required = false) @Positive Long afterId) {
+        log.info("Возвращаем бронирования для всех вещей пользователя id = {} по запросу {}, from = {}, size = {}, "
+                + "после start = {}, id = {}", userId, state, from, size, afterStart, afterId);
+        BookingPage page = BookingPage.of(from, size, afterStart, afterId);
+        return bookingClient.findByOwnerId(userId, state, page);
     }
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.booking.dto;
+
+import jakarta.validation.ValidationException;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Параметры списка бронирований: смещение from или курсор (afterStart, afterId) — start и id последнего
+ * бронирования предыдущей страницы, и size. Без size сервер возвращает список целиком.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class BookingPage {
+    private final int from;
+    private final Integer size;
+    private final LocalDateTime afterStart;
+    private final Long afterId;
+
+    public static BookingPage of(int from, Integer size, LocalDateTime afterStart, Long afterId) {
+        if ((afterStart == null) != (afterId == null)) {
+            throw new ValidationException("Курсор задаётся парой afterStart и afterId");
+        }
+        if (afterStart != null && from != 0) {
+            throw new ValidationException("Курсор afterStart/afterId используется вместо from");
+        }
+        return new BookingPage(from, size, afterStart, afterId);
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Формат обмена gateway -> server. В режиме smile запросы и ответы сервера идут в бинарном Smile,
+ * а ответ клиенту gateway перекодирует обратно в JSON потоком токенов, без построения дерева объектов.
+ * Ошибки сервер отдаёт в JSON, они передаются клиенту как есть.
+ */
+public class ServerWireFormat {
+
+    public static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private final boolean smile;
+    private final SmileFactory smileFactory;
+    private final JsonFactory jsonFactory;
+    private final MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    public ServerWireFormat(boolean smile, ObjectMapper jsonMapper) {
+        this.smile = smile;
+        this.smileFactory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        this.jsonFactory = jsonMapper.getFactory();
+        this.smileConverter = new MappingJackson2SmileHttpMessageConverter(
+                jsonMapper.copyWith(smileFactory));
+    }
+
+    public boolean isSmile() {
+        return smile;
+    }
+
+    MappingJackson2SmileHttpMessageConverter smileConverter() {
+        return smileConverter;
+    }
+
+    void applyTo(HttpHeaders headers) {
+        if (smile) {
+            headers.setContentType(SMILE);
+            headers.setAccept(List.of(SMILE, MediaType.APPLICATION_JSON));
+        } else {
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        }
+    }
+
+    static boolean isSmileType(MediaType contentType) {
+        return contentType != null && SMILE.isCompatibleWith(contentType);
+    }
+
+    byte[] toJson(byte[] smileBody) {
+        ByteArrayOutputStream json = new ByteArrayOutputStream(smileBody.length * 2);
+        try (JsonParser parser = smileFactory.createParser(smileBody);
+             JsonGenerator generator = jsonFactory.createGenerator(json)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEvent(parser);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Некорректный ответ сервера в формате Smile", e);
+        }
+        return json.toByteArray();
+    }
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.time.Duration;
+
+/**
+ * Общий пул соединений gateway -> server для всех клиентов.
+ * Все запросы идут на один хост, поэтому лимит на маршрут совпадает с общим.
+ */
+@Configuration
+public class ShareItServerClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient shareItServerHttpClient(
+            @Value("${shareit-server.pool.max-connections}") int maxConnections,
+            @Value("${shareit-server.pool.connect-timeout}") Duration connectTimeout,
+            @Value("${shareit-server.pool.read-timeout}") Duration readTimeout,
+            @Value("${shareit-server.pool.acquire-timeout}") Duration acquireTimeout,
+            @Value("${shareit-server.pool.keep-alive}") Duration keepAlive) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .build())
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(acquireTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .setConnectionKeepAlive(TimeValue.of(keepAlive))
+                        // сервер сжимает JSON-ответы: клиент запрашивает gzip и распаковывает тело сам
+                        .setContentCompressionEnabled(true)
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(keepAlive))
+                .build();
+    }
+
+    @Bean
+    public ServerWireFormat shareItServerWireFormat(@Value("${shareit-server.wire-format}") String wireFormat,
+                                                    ObjectMapper objectMapper) {
+        return switch (wireFormat) {
+            case "json" -> new ServerWireFormat(false, objectMapper);
+            case "smile" -> new ServerWireFormat(true, objectMapper);
+            default -> throw new IllegalArgumentException("Неизвестный формат обмена с сервером: " + wireFormat);
+        };
+    }
+
+    // конвертер Smile добавляется при сборке каждого RestTemplate клиентов, а не изменением уже собранного
+    @Bean
+    public RestTemplateCustomizer shareItServerWireFormatCustomizer(ServerWireFormat shareItServerWireFormat) {
+        return restTemplate -> {
+            if (shareItServerWireFormat.isSmile()) {
+                restTemplate.getMessageConverters().add(shareItServerWireFormat.smileConverter());
+            }
+        };
+    }
+
+    @Bean
+    public ClientHttpRequestFactory shareItServerRequestFactory(CloseableHttpClient shareItServerHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(shareItServerHttpClient);
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.config;
+
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Blackbird заменяет рефлексивный доступ к свойствам DTO сгенерированными лямбдами.
+ * Spring Boot сам регистрирует бины-модули в общем ObjectMapper.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.exception;
 
 import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.ValidationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -25,6 +26,12 @@ public class ErrorHandler {
         return response("Указаны некорректные данные", ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
+    //несогласованные параметры запроса, которые не выразить аннотациями
+    @ExceptionHandler(ValidationException.class)
+    public ResponseEntity<String> handleInvalidParameters(final ValidationException ex) {
+        return response("Указаны некорректные данные", ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     @ExceptionHandler
     public ErrorResponse handleServerError(final Throwable e) {
@@ -1,58 +1,130 @@
 package ru.practicum.shareit.item.client;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerWireFormat;
 import ru.practicum.shareit.item.dto.NewCommentRequest;
 import ru.practicum.shareit.item.dto.NewItemRequest;
 import ru.practicum.shareit.item.dto.UpdateItemRequest;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Component
 public class ItemClient extends BaseClient {
 
     private static final String API_PREFIX = "/items";
 
+    // ответы поиска кэшируются по тексту без учёта регистра (сервер ищет так же), на сервер уходит исходный текст;
+    // одновременные промахи по одному ключу приводят к одному запросу на сервер;
+    // запрос выполняется вне блокировок кэша, чтобы не закреплять виртуальный поток.
+    // Изменения вещей сбрасывают кэш только этого экземпляра gateway: при нескольких экземплярах
+    // устаревание ответа ограничено лишь ttl
+    private final Cache<String, CompletableFuture<ResponseEntity<Object>>> searchCache;
+
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl,
+                      @Value("${shareit-gateway.search-cache.max-size}") long searchCacheMaxSize,
+                      @Value("${shareit-gateway.search-cache.ttl}") Duration searchCacheTtl,
+                      ClientHttpRequestFactory requestFactory,
+                      RestTemplateBuilder builder,
+                      ServerWireFormat wireFormat) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl))
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                API_PREFIX,
+                wireFormat
         );
+        this.searchCache = Caffeine.newBuilder()
+                .maximumSize(searchCacheMaxSize)
+                .expireAfterWrite(searchCacheTtl)
+                .build();
     }
 
     public ResponseEntity<Object> addComment(long userId, long itemId, NewCommentRequest request) {
-        return post("/" + itemId + "/comment", userId, request);
+        return post("/{itemId}/comment", userId, Map.of("itemId", itemId), request);
     }
 
     public ResponseEntity<Object> getUserItems(long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getById(long itemId) {
-        return get("/" + itemId, itemId);
+    public ResponseEntity<Object> getOwnerItems(long userId) {
+        return get("/owner", userId);
+    }
+
+    public ResponseEntity<Object> getById(long itemId, String ifNoneMatch) {
+        return conditionalGet("/{itemId}", null, Map.of("itemId", itemId), ifNoneMatch);
     }
 
     public ResponseEntity<Object> searchItem(String text) {
-        Map<String, Object> parameters = Map.of(
-                "text", text
-        );
-        return get("/search", parameters);
+        // пробелы не отбрасываются: сервер ищет подстроку вместе с ними
+        String key = text.toLowerCase(Locale.ROOT);
+        CompletableFuture<ResponseEntity<Object>> loading = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> cached = searchCache.asMap().putIfAbsent(key, loading);
+        if (cached != null) {
+            return await(cached);
+        }
+        try {
+            ResponseEntity<Object> response = get("/search?text={text}", Map.of("text", text));
+            loading.complete(response);
+            if (!response.getStatusCode().is2xxSuccessful()) {
+                searchCache.asMap().remove(key, loading);
+            }
+            return response;
+        } catch (Throwable e) {
+            // незавершённый future навсегда заблокировал бы всех, кто ждёт этот запрос, поэтому и Error тоже
+            loading.completeExceptionally(e);
+            searchCache.asMap().remove(key, loading);
+            throw e;
+        }
+    }
+
+    // ожидающие получают исходное исключение загрузки, а не обёртку CompletionException
+    private static ResponseEntity<Object> await(CompletableFuture<ResponseEntity<Object>> loading) {
+        try {
+            return loading.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
 
     public ResponseEntity<Object> createItem(long userId, NewItemRequest request) {
-        return post("", userId, request);
+        return invalidateSearchOnSuccess(post("", userId, request));
+    }
+
+    public ResponseEntity<Object> createItems(long userId, List<NewItemRequest> requests) {
+        return invalidateSearchOnSuccess(post("/batch", userId, requests));
     }
 
     public ResponseEntity<Object> updateItem(long userId, long itemId, UpdateItemRequest request) {
-        return patch("/" + itemId, userId, request);
+        return invalidateSearchOnSuccess(patch("/{itemId}", userId, Map.of("itemId", itemId), request));
+    }
+
+    private ResponseEntity<Object> invalidateSearchOnSuccess(ResponseEntity<Object> response) {
+        if (response.getStatusCode().is2xxSuccessful()) {
+            searchCache.invalidateAll();
+        }
+        return response;
     }
 }
@@ -1,8 +1,18 @@
 package ru.practicum.shareit.item.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -11,13 +21,26 @@ import ru.practicum.shareit.item.dto.NewCommentRequest;
 import ru.practicum.shareit.item.dto.NewItemRequest;
 import ru.practicum.shareit.item.dto.UpdateItemRequest;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @RestController
 @RequestMapping(path = "/items")
 @RequiredArgsConstructor
 @Validated
 @Slf4j
 public class ItemController {
+    private static final int MAX_BATCH_SIZE = 10_000;
+    private static final long MAX_BATCH_BYTES = 8L * 1024 * 1024;
+
     private final ItemClient itemClient;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
 
     @PostMapping("/{itemId}/comment")
     public ResponseEntity<Object> addComment(@RequestHeader("X-Sharer-User-Id") long userId,
@@ -33,10 +56,17 @@ public class ItemController {
         return itemClient.getUserItems(userId);
     }
 
+    @GetMapping("/owner")
+    public ResponseEntity<Object> getOwnerItems(@RequestHeader("X-Sharer-User-Id") long userId) {
+        log.info("получаем вещи владельца id = {} с бронированиями и отзывами", userId);
+        return itemClient.getOwnerItems(userId);
+    }
+
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getById(@PathVariable("itemId") long itemId) {
+    public ResponseEntity<Object> getById(@PathVariable("itemId") long itemId,
+                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Получаем предмет id = {}", itemId);
-        return itemClient.getById(itemId);
+        return itemClient.getById(itemId, ifNoneMatch);
     }
 
     @GetMapping("/search")
@@ -48,10 +78,26 @@ public class ItemController {
     @PostMapping
     public ResponseEntity<Object> createItem(@RequestHeader("X-Sharer-User-Id") long userId,
                                              @RequestBody @Valid NewItemRequest request) {
-        log.info("Начинаем создание предмета {} пользователем id = {}", request, userId);
+        log.info("Начинаем создание предмета пользователем id = {}", userId);
         return itemClient.createItem(userId, request);
     }
 
+    @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Object> createItems(@RequestHeader("X-Sharer-User-Id") long userId,
+                                              @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                                              List<@Valid NewItemRequest> requests) {
+        log.info("Начинаем импорт {} предметов пользователем id = {}", requests.size(), userId);
+        return itemClient.createItems(userId, requests);
+    }
+
+    @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Object> createItemsStream(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                    InputStream body) throws IOException {
+        List<NewItemRequest> requests = readItems(body);
+        log.info("Начинаем импорт {} предметов из NDJSON пользователем id = {}", requests.size(), userId);
+        return itemClient.createItems(userId, requests);
+    }
+
     @PatchMapping
     public ResponseEntity<Object> updateItem(@RequestHeader("X-Sharer-User-Id") long userId,
                                              @PathVariable("itemId") long itemId,
@@ -59,4 +105,78 @@ public class ItemController {
         log.info("Начинаем обновление премета id = {} пользователем id = {}", itemId, userId);
         return itemClient.updateItem(userId, itemId, request);
     }
+
+    // записи NDJSON разбираются и проверяются по одной, номер записи попадает в текст ошибки.
+    // Пакет накапливается целиком: сервер импортирует его в одной транзакции, и частично принятого
+    // импорта не бывает. Поэтому память ограничена и числом записей, и размером тела
+    private List<NewItemRequest> readItems(InputStream body) throws IOException {
+        List<NewItemRequest> requests = new ArrayList<>();
+        try (MappingIterator<NewItemRequest> iterator = objectMapper.readerFor(NewItemRequest.class)
+                .readValues(new LimitedInputStream(body, MAX_BATCH_BYTES))) {
+            while (iterator.hasNextValue()) {
+                if (requests.size() == MAX_BATCH_SIZE) {
+                    throw new ConstraintViolationException("за один запрос можно импортировать не больше "
+                            + MAX_BATCH_SIZE + " предметов", Set.of());
+                }
+                NewItemRequest request = iterator.nextValue();
+                Set<ConstraintViolation<NewItemRequest>> violations = validator.validate(request);
+                if (!violations.isEmpty()) {
+                    throw new ConstraintViolationException("запись " + (requests.size() + 1) + ": "
+                            + violations.stream()
+                            .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                            .sorted()
+                            .collect(Collectors.joining(", ")), violations);
+                }
+                requests.add(request);
+            }
+        } catch (JsonProcessingException e) {
+            throw new ConstraintViolationException("запись " + (requests.size() + 1) + ": некорректный JSON",
+                    Set.of());
+        } catch (BatchTooLargeException e) {
+            throw new ConstraintViolationException("за один запрос можно импортировать не больше "
+                    + MAX_BATCH_BYTES / (1024 * 1024) + " МБ", Set.of());
+        }
+        if (requests.isEmpty()) {
+            throw new ConstraintViolationException("нет предметов для импорта", Set.of());
+        }
+        return requests;
+    }
+
+    private static final class LimitedInputStream extends FilterInputStream {
+        private final long limit;
+        private long read;
+
+        private LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        private void count(int n) throws BatchTooLargeException {
+            read += n;
+            if (read > limit) {
+                throw new BatchTooLargeException();
+            }
+        }
+    }
+
+    private static final class BatchTooLargeException extends IOException {
+    }
 }
@@ -4,23 +4,31 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerWireFormat;
 import ru.practicum.shareit.request.dto.NewRequest;
 
+import java.util.Map;
+
 @Component
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl,
+                             ClientHttpRequestFactory requestFactory,
+                             RestTemplateBuilder builder,
+                             ServerWireFormat wireFormat) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl))
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                API_PREFIX,
+                wireFormat
         );
     }
 
@@ -36,8 +44,8 @@ public class ItemRequestClient extends BaseClient {
         return get("/all");
     }
 
-    public ResponseEntity<Object> findById(long requestId) {
-        return get("/" + requestId, requestId);
+    public ResponseEntity<Object> findById(long requestId, String ifNoneMatch) {
+        return conditionalGet("/{requestId}", null, Map.of("requestId", requestId), ifNoneMatch);
     }
 
 }
@@ -3,6 +3,7 @@ package ru.practicum.shareit.request.controller;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -20,7 +21,7 @@ public class ItemRequestController {
     @PostMapping
     public ResponseEntity<Object> createRequest(@RequestHeader("X-Sharer-User-Id") long userId,
                                                 @RequestBody @Valid NewRequest request) {
-        log.info("Добавляем запрос {}", request);
+        log.info("Добавляем запрос пользователя id = {}", userId);
         return itemRequestClient.add(userId, request);
     }
 
@@ -37,8 +38,9 @@ public class ItemRequestController {
     }
 
     @GetMapping("{requestId}")
-    public ResponseEntity<Object> findById(@PathVariable("requestId") long requestId) {
+    public ResponseEntity<Object> findById(@PathVariable("requestId") long requestId,
+                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Получаем запрос id = {}", requestId);
-        return itemRequestClient.findById(requestId);
+        return itemRequestClient.findById(requestId, ifNoneMatch);
     }
 }
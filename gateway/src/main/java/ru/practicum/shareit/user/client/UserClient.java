@@ -4,24 +4,32 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerWireFormat;
 import ru.practicum.shareit.user.dto.NewUserRequest;
 import ru.practicum.shareit.user.dto.UpdateUserRequest;
 
+import java.util.Map;
+
 @Component
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl,
+                      ClientHttpRequestFactory requestFactory,
+                      RestTemplateBuilder builder,
+                      ServerWireFormat wireFormat) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl))
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                API_PREFIX,
+                wireFormat
         );
     }
 
@@ -30,7 +38,7 @@ public class UserClient extends BaseClient {
     }
 
     public ResponseEntity<Object> getById(long userId) {
-        return get("/" + userId);
+        return get("/{userId}", null, Map.of("userId", userId));
     }
 
     public ResponseEntity<Object> add(NewUserRequest request) {
@@ -38,10 +46,10 @@ public class UserClient extends BaseClient {
     }
 
     public ResponseEntity<Object> update(long userId, UpdateUserRequest request) {
-        return patch("/" + userId, request);
+        return patch("/{userId}", null, Map.of("userId", userId), request);
     }
 
     public ResponseEntity<Object> delete(long userId) {
-        return delete("/" + userId);
+        return delete("/{userId}", null, Map.of("userId", userId));
     }
 }
@@ -36,7 +36,7 @@ public class UserController {
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public ResponseEntity<Object> createUser(@RequestBody @Valid NewUserRequest request) {
-        log.info("Создаем пользователя {}", request);
+        log.info("Создаем пользователя");
         return userClient.add(request);
     }
 
@@ -0,0 +1,57 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import ru.practicum.shareit.booking.client.BookingClient;
+import ru.practicum.shareit.booking.dto.BookingPage;
+import ru.practicum.shareit.booking.dto.State;
+import ru.practicum.shareit.client.ShareItServerClientConfig;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@RestClientTest(BookingClient.class)
+@Import(ShareItServerClientConfig.class)
+class BookingClientPagingTest {
+
+    @Autowired
+    private BookingClient bookingClient;
+
+    @Autowired
+    private MockRestServiceServer server;
+
+    @Test
+    @DisplayName("Без size запрос уходит на сервер без size, и сервер возвращает список целиком")
+    void testUnpagedListSendsNoSize() {
+        server.expect(requestTo("http://localhost:9090/bookings?state=ALL&from=0"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> response = bookingClient.findByBookerId(1L, State.ALL,
+                BookingPage.of(0, null, null, null));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Курсор afterStart/afterId передаётся на сервер вместе с size")
+    void testCursorIsForwarded() {
+        server.expect(requestTo("http://localhost:9090/bookings/owner?state=FUTURE&from=0&size=20"
+                        + "&afterStart=2025-06-01T10%3A00&afterId=42"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> response = bookingClient.findByOwnerId(1L, State.FUTURE,
+                BookingPage.of(0, 20, LocalDateTime.of(2025, 6, 1, 10, 0), 42L));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.client.BookingClient;
+import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.dto.BookingPage;
+import ru.practicum.shareit.booking.dto.State;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(BookingController.class)
+class BookingControllerPagingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BookingClient bookingClient;
+
+    @Test
+    @DisplayName("Курсор из start и id последней строки передаётся клиенту")
+    void testCursorIsParsed() throws Exception {
+        BookingPage page = BookingPage.of(0, 20, LocalDateTime.of(2025, 6, 1, 10, 0), 42L);
+        when(bookingClient.findByBookerId(1L, State.ALL, page)).thenReturn(ResponseEntity.ok().build());
+
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("size", "20")
+                        .param("afterStart", "2025-06-01T10:00:00")
+                        .param("afterId", "42"))
+                .andExpect(status().isOk());
+
+        verify(bookingClient).findByBookerId(1L, State.ALL, page);
+    }
+
+    @Test
+    @DisplayName("Неполный курсор отклоняется")
+    void testIncompleteCursorIsRejected() throws Exception {
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("afterStart", "2025-06-01T10:00:00"))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingClient, never()).findByOwnerId(anyLong(), any(), any());
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import ru.practicum.shareit.client.ShareItServerClientConfig;
+import ru.practicum.shareit.item.client.ItemClient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@RestClientTest(ItemClient.class)
+@Import(ShareItServerClientConfig.class)
+class ItemClientConditionalGetTest {
+
+    private static final String ITEM_URL = "http://localhost:9090/items/1";
+    private static final String ETAG = "\"0a1b2c3d\"";
+
+    @Autowired
+    private ItemClient itemClient;
+
+    @Autowired
+    private MockRestServiceServer server;
+
+    @Test
+    @DisplayName("ETag сервера передаётся клиенту вместе с телом")
+    void testEtagIsPropagated() {
+        server.expect(requestTo(ITEM_URL))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andExpect(headerDoesNotExist("X-Sharer-User-Id"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.ETAG, ETAG));
+
+        ResponseEntity<Object> response = itemClient.getById(1L, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(ETAG, response.getHeaders().getETag());
+    }
+
+    @Test
+    @DisplayName("If-None-Match уходит на сервер, а 304 возвращается клиенту без тела")
+    void testNotModifiedIsPassedThrough() {
+        server.expect(requestTo(ITEM_URL))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED)
+                        .header(HttpHeaders.ETAG, ETAG));
+
+        ResponseEntity<Object> response = itemClient.getById(1L, ETAG);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(ETAG, response.getHeaders().getETag());
+        assertFalse(response.hasBody());
+    }
+}
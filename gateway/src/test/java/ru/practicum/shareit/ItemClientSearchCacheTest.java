@@ -0,0 +1,106 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import ru.practicum.shareit.client.ShareItServerClientConfig;
+import ru.practicum.shareit.item.client.ItemClient;
+import ru.practicum.shareit.item.dto.NewItemRequest;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@RestClientTest(ItemClient.class)
+@Import(ShareItServerClientConfig.class)
+class ItemClientSearchCacheTest {
+
+    private static final String SEARCH_URL = "http://localhost:9090/items/search?text=";
+
+    @Autowired
+    private ItemClient itemClient;
+
+    @Autowired
+    private MockRestServiceServer server;
+
+    @Test
+    @DisplayName("Повторный поиск, отличающийся только регистром, не идёт на сервер; на сервер уходит исходный текст")
+    void testSearchIsCachedByNormalizedText() {
+        server.expect(once(), requestTo(SEARCH_URL + "Drill"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(SEARCH_URL + "%20drill%20"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        itemClient.searchItem("Drill");
+        itemClient.searchItem("DRILL");
+        itemClient.searchItem(" drill ");
+
+        server.verify();
+    }
+
+    @Test
+    @DisplayName("Ошибка сервера при поиске не кэшируется")
+    void testSearchErrorIsNotCached() {
+        server.expect(requestTo(SEARCH_URL + "saw"))
+                .andRespond(withStatus(HttpStatus.INTERNAL_SERVER_ERROR));
+        server.expect(requestTo(SEARCH_URL + "saw"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, itemClient.searchItem("saw").getStatusCode());
+        assertEquals(HttpStatus.OK, itemClient.searchItem("saw").getStatusCode());
+
+        server.verify();
+    }
+
+    @Test
+    @DisplayName("Error при загрузке поиска не оставляет в кэше незавершённый запрос")
+    void testSearchErrorThrowableIsNotCached() {
+        server.expect(requestTo(SEARCH_URL + "axe"))
+                .andRespond(request -> {
+                    throw new StackOverflowError();
+                });
+        server.expect(requestTo(SEARCH_URL + "axe"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        assertThrows(StackOverflowError.class, () -> itemClient.searchItem("axe"));
+        assertEquals(HttpStatus.OK, assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> itemClient.searchItem("axe")).getStatusCode());
+
+        server.verify();
+    }
+
+    @Test
+    @DisplayName("Добавление вещи сбрасывает кэш поиска")
+    void testCreateItemInvalidatesSearchCache() {
+        server.expect(requestTo(SEARCH_URL + "Hammer"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+        server.expect(requestTo("http://localhost:9090/items"))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo(SEARCH_URL + "Hammer"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        itemClient.searchItem("Hammer");
+        itemClient.createItem(1L, NewItemRequest.builder()
+                .name("Дрель")
+                .description("Аккумуляторная дрель")
+                .available(true)
+                .build());
+        itemClient.searchItem("Hammer");
+
+        server.verify();
+    }
+}
@@ -0,0 +1,132 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.client.ItemClient;
+import ru.practicum.shareit.item.controller.ItemController;
+import ru.practicum.shareit.item.dto.NewItemRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ItemController.class)
+class ItemControllerBatchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private ItemClient itemClient;
+
+    private final NewItemRequest drill = NewItemRequest.builder()
+            .name("Дрель")
+            .description("Ударная дрель")
+            .available(true)
+            .build();
+
+    private final NewItemRequest saw = NewItemRequest.builder()
+            .name("Пила")
+            .description("Ручная пила")
+            .available(false)
+            .requestId(3L)
+            .build();
+
+    @Test
+    @DisplayName("Импорт массива JSON передаётся на сервер одним запросом")
+    void testCreateItemsFromJsonArray() throws Exception {
+        when(itemClient.createItems(1L, List.of(drill, saw))).thenReturn(ResponseEntity.status(201).build());
+
+        mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(drill, saw))))
+                .andExpect(status().isCreated());
+
+        verify(itemClient).createItems(1L, List.of(drill, saw));
+    }
+
+    @Test
+    @DisplayName("Импорт массива JSON с невалидной вещью отклоняется")
+    void testCreateItemsFromJsonArrayInvalid() throws Exception {
+        NewItemRequest blank = NewItemRequest.builder().name(" ").description("Описание").available(true).build();
+
+        mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(drill, blank))))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).createItems(anyLong(), anyList());
+    }
+
+    @Test
+    @DisplayName("Импорт NDJSON разбирается построчно и передаётся на сервер одним запросом")
+    void testCreateItemsFromNdjson() throws Exception {
+        String body = objectMapper.writeValueAsString(drill) + "\n" + objectMapper.writeValueAsString(saw) + "\n";
+        when(itemClient.createItems(1L, List.of(drill, saw))).thenReturn(ResponseEntity.status(201).build());
+
+        mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isCreated());
+
+        verify(itemClient).createItems(1L, List.of(drill, saw));
+    }
+
+    @Test
+    @DisplayName("Импорт NDJSON больше допустимого размера отклоняется до отправки на сервер")
+    void testCreateItemsFromNdjsonTooLarge() throws Exception {
+        NewItemRequest large = NewItemRequest.builder()
+                .name("Дрель")
+                .description("д".repeat(1024 * 1024))
+                .available(true)
+                .build();
+        String line = objectMapper.writeValueAsString(large) + "\n";
+
+        mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(line.repeat(5).getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("8 МБ")));
+
+        verify(itemClient, never()).createItems(anyLong(), anyList());
+    }
+
+    @Test
+    @DisplayName("Ошибка в записи NDJSON возвращается с номером записи")
+    void testCreateItemsFromNdjsonInvalid() throws Exception {
+        String body = objectMapper.writeValueAsString(drill) + "\n"
+                + "{\"name\":\"Пила\",\"description\":\"Ручная пила\"}\n";
+
+        mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("запись 2: available")));
+
+        verify(itemClient, never()).createItems(anyLong(), anyList());
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import ru.practicum.shareit.client.ShareItServerClientConfig;
+import ru.practicum.shareit.request.client.ItemRequestClient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+
+@RestClientTest(ItemRequestClient.class)
+@Import(ShareItServerClientConfig.class)
+class ItemRequestClientConditionalGetTest {
+
+    private static final String ETAG = "\"0a1b2c3d\"";
+
+    @Autowired
+    private ItemRequestClient itemRequestClient;
+
+    @Autowired
+    private MockRestServiceServer server;
+
+    @Test
+    @DisplayName("Запрос по id уходит на сервер с If-None-Match и без заголовка пользователя")
+    void testFindByIdSendsNoUserHeader() {
+        server.expect(requestTo("http://localhost:9090/requests/7"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(headerDoesNotExist("X-Sharer-User-Id"))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED)
+                        .header(HttpHeaders.ETAG, ETAG));
+
+        ResponseEntity<Object> response = itemRequestClient.findById(7L, ETAG);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import ru.practicum.shareit.client.ShareItServerClientConfig;
+import ru.practicum.shareit.user.client.UserClient;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@RestClientTest(UserClient.class)
+@Import(ShareItServerClientConfig.class)
+class UserClientPassThroughTest {
+
+    @Autowired
+    private UserClient userClient;
+
+    @Autowired
+    private MockRestServiceServer server;
+
+    @Test
+    @DisplayName("Успешный ответ сервера передаётся байтами с исходным типом содержимого")
+    void testSuccessResponseIsPassedAsBytes() {
+        String json = "[{\"id\":1,\"name\":\"Иван\",\"email\":\"ivan@mail.ru\"}]";
+        server.expect(requestTo("http://localhost:9090/users"))
+                .andRespond(withSuccess(json, MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> response = userClient.getAll();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertArrayEquals(json.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+    }
+
+    @Test
+    @DisplayName("Ошибка сервера передаётся с исходным статусом, телом и типом содержимого")
+    void testErrorResponseKeepsStatusAndBody() {
+        String json = "{\"error\":\"Пользователь не найден\"}";
+        server.expect(requestTo("http://localhost:9090/users/1"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(json));
+
+        ResponseEntity<Object> response = userClient.getById(1L);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertArrayEquals(json.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+    }
+}
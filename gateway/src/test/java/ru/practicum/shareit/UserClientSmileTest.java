@@ -0,0 +1,99 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.client.MockRestServiceServer;
+import ru.practicum.shareit.client.ServerWireFormat;
+import ru.practicum.shareit.client.ShareItServerClientConfig;
+import ru.practicum.shareit.user.client.UserClient;
+import ru.practicum.shareit.user.dto.NewUserRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@RestClientTest(UserClient.class)
+@Import(ShareItServerClientConfig.class)
+@TestPropertySource(properties = "shareit-server.wire-format=smile")
+class UserClientSmileTest {
+
+    @Autowired
+    private UserClient userClient;
+
+    @Autowired
+    private MockRestServiceServer server;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Ответ сервера в Smile перекодируется gateway в JSON")
+    void testSmileResponseIsTranscodedToJson() throws Exception {
+        List<Map<String, Object>> users = List.of(Map.of("id", 1, "name", "Иван", "email", "ivan@mail.ru"));
+        byte[] smile = objectMapper.copyWith(new SmileFactory()).writeValueAsBytes(users);
+        server.expect(requestTo("http://localhost:9090/users"))
+                .andExpect(header(HttpHeaders.ACCEPT, "application/x-jackson-smile, application/json"))
+                .andRespond(withSuccess(smile, ServerWireFormat.SMILE));
+
+        ResponseEntity<Object> response = userClient.getAll();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals(objectMapper.valueToTree(users), objectMapper.readTree((byte[]) response.getBody()));
+    }
+
+    @Test
+    @DisplayName("Тело запроса уходит на сервер в Smile")
+    void testRequestBodyIsSentAsSmile() {
+        NewUserRequest request = NewUserRequest.builder().name("Иван").email("ivan@mail.ru").build();
+        server.expect(requestTo("http://localhost:9090/users"))
+                .andExpect(content().contentType(ServerWireFormat.SMILE))
+                .andExpect(clientRequest -> {
+                    JsonNode body = objectMapper.copyWith(new SmileFactory())
+                            .readTree(((MockClientHttpRequest) clientRequest).getBodyAsBytes());
+                    assertEquals("Иван", body.get("name").asText());
+                    assertEquals("ivan@mail.ru", body.get("email").asText());
+                })
+                .andRespond(withStatus(HttpStatus.CREATED));
+
+        ResponseEntity<Object> response = userClient.add(request);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Ошибка сервера в JSON передаётся клиенту без перекодирования")
+    void testJsonErrorIsPassedThrough() {
+        String json = "{\"error\":\"Пользователь не найден\"}";
+        server.expect(requestTo("http://localhost:9090/users/1"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(json));
+
+        ResponseEntity<Object> response = userClient.getById(1L);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertArrayEquals(json.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+    }
+}
@@ -1,13 +1,16 @@
 package ru.practicum.shareit.booking.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingStatusResult;
 import ru.practicum.shareit.booking.dto.NewBookingRequest;
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.service.BookingService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RequiredArgsConstructor
@@ -31,6 +34,14 @@ public class BookingController {
         return bookingService.updateStatus(userId, bookingId, approved);
     }
 
+    @PatchMapping(params = {"approved"})
+    @ResponseStatus(HttpStatus.OK)
+    public List<BookingStatusResult> updateStatuses(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                    @RequestParam(name = "approved") boolean approved,
+                                                    @RequestBody List<Long> bookingIds) {
+        return bookingService.updateStatuses(userId, bookingIds, approved);
+    }
+
     @GetMapping("/{bookingId}")
     @ResponseStatus(HttpStatus.OK)
     public BookingDto findById(@RequestHeader("X-Sharer-User-Id") long userId,
@@ -42,14 +53,24 @@ public class BookingController {
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
     public List<BookingDto> findByBookerId(@RequestHeader("X-Sharer-User-Id") long userId,
-                                           @RequestParam(defaultValue = "ALL") State state) {
-        return bookingService.findByBookerId(userId, state);
+                                           @RequestParam(defaultValue = "ALL") State state,
+                                           @RequestParam(defaultValue = "0") int from,
+                                           @RequestParam(required = false) Integer size,
+                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                          LocalDateTime afterStart,
+                                           @RequestParam(required = false) Long afterId) {
+        return bookingService.findByBookerId(userId, state, from, size, afterStart, afterId);
     }
 
     @GetMapping("/owner")
     @ResponseStatus(HttpStatus.OK)
     public List<BookingDto> findByOwnerId(@RequestHeader("X-Sharer-User-Id") long userId,
-                                          @RequestParam(defaultValue = "ALL") State state) {
-        return bookingService.findByOwnerId(userId, state);
+                                          @RequestParam(defaultValue = "ALL") State state,
+                                          @RequestParam(defaultValue = "0") int from,
+                                          @RequestParam(required = false) Integer size,
+                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                          LocalDateTime afterStart,
+                                          @RequestParam(required = false) Long afterId) {
+        return bookingService.findByOwnerId(userId, state, from, size, afterStart, afterId);
     }
 }
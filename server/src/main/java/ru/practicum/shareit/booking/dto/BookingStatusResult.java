@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BookingStatusResult {
+    private Long bookingId;
+    private Result result;
+    private BookingDto booking;
+    private String error;
+
+    public enum Result {
+        UPDATED,
+        UNCHANGED,
+        NOT_FOUND,
+        NO_ACCESS,
+        CONFLICT,
+        NOT_AVAILABLE
+    }
+}
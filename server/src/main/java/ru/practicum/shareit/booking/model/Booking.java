@@ -27,7 +27,8 @@ public class Booking {
     }
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     Long id;
 
     @Column(name = "start_time")
@@ -36,7 +37,8 @@ public class Booking {
     @Column(name = "end_time")
     LocalDateTime end;
 
-    @ManyToOne
+    // бронирование всегда ссылается на вещь: выборки по владельцу соединяют items внутренним join
+    @ManyToOne(optional = false)
     @JoinColumn(name = "item_id")
     Item item;
 
@@ -47,4 +49,7 @@ public class Booking {
     @Enumerated(EnumType.STRING)
     Status status;
 
+    @Version
+    Long version;
+
 }
@@ -1,19 +1,101 @@
 package ru.practicum.shareit.booking.repository;
 
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findByBooker_id(long bookerId);
+    List<Booking> findByBooker_id(long bookerId, Pageable pageable);
 
-    List<Booking> findByItemOwner_id(long ownerId);
+    List<Booking> findByBooker_idAndStartBeforeAndEndAfter(long bookerId, LocalDateTime start, LocalDateTime end,
+                                                          Pageable pageable);
+
+    List<Booking> findByBooker_idAndEndBefore(long bookerId, LocalDateTime end, Pageable pageable);
+
+    List<Booking> findByBooker_idAndStartAfter(long bookerId, LocalDateTime start, Pageable pageable);
+
+    List<Booking> findByBooker_idAndStatus(long bookerId, Status status, Pageable pageable);
+
+    List<Booking> findByItem_Owner_id(long ownerId, Pageable pageable);
+
+    List<Booking> findByItem_Owner_idAndStartBeforeAndEndAfter(long ownerId, LocalDateTime start, LocalDateTime end,
+                                                             Pageable pageable);
+
+    List<Booking> findByItem_Owner_idAndEndBefore(long ownerId, LocalDateTime end, Pageable pageable);
+
+    List<Booking> findByItem_Owner_idAndStartAfter(long ownerId, LocalDateTime start, Pageable pageable);
+
+    List<Booking> findByItem_Owner_idAndStatus(long ownerId, Status status, Pageable pageable);
+
+    // те же выборки с курсором по (start, id): следующая страница начинается после последней строки предыдущей,
+    // и база не пропускает уже показанные строки, как при смещении
+    Window<Booking> findByBooker_id(long bookerId, KeysetScrollPosition position, Limit limit, Sort sort);
+
+    Window<Booking> findByBooker_idAndStartBeforeAndEndAfter(long bookerId, LocalDateTime start, LocalDateTime end,
+                                                            KeysetScrollPosition position, Limit limit, Sort sort);
+
+    Window<Booking> findByBooker_idAndEndBefore(long bookerId, LocalDateTime end, KeysetScrollPosition position,
+                                               Limit limit, Sort sort);
+
+    Window<Booking> findByBooker_idAndStartAfter(long bookerId, LocalDateTime start, KeysetScrollPosition position,
+                                                Limit limit, Sort sort);
+
+    Window<Booking> findByBooker_idAndStatus(long bookerId, Status status, KeysetScrollPosition position,
+                                            Limit limit, Sort sort);
+
+    Window<Booking> findByItem_Owner_id(long ownerId, KeysetScrollPosition position, Limit limit, Sort sort);
+
+    Window<Booking> findByItem_Owner_idAndStartBeforeAndEndAfter(long ownerId, LocalDateTime start,
+                                                                LocalDateTime end, KeysetScrollPosition position,
+                                                                Limit limit, Sort sort);
+
+    Window<Booking> findByItem_Owner_idAndEndBefore(long ownerId, LocalDateTime end, KeysetScrollPosition position,
+                                                   Limit limit, Sort sort);
+
+    Window<Booking> findByItem_Owner_idAndStartAfter(long ownerId, LocalDateTime start,
+                                                    KeysetScrollPosition position, Limit limit, Sort sort);
+
+    Window<Booking> findByItem_Owner_idAndStatus(long ownerId, Status status, KeysetScrollPosition position,
+                                                Limit limit, Sort sort);
 
     List<Booking> findByItem_idAndStatus(long itemId, Status status);
 
+    @EntityGraph(attributePaths = "booker")
+    List<Booking> findByItem_idInAndStatusOrderByStartAsc(Collection<Long> itemIds, Status status);
+
     Booking findByItemAndBooker(Item item, User booker);
+
+    @EntityGraph(attributePaths = {"item", "item.owner", "booker"})
+    List<Booking> findByIdIn(Collection<Long> ids);
+
+    // подтверждённые бронирования вещей, пересекающие окно [start, end) пакета кандидатов, без истории вне окна
+    List<Booking> findByItem_idInAndStatusAndStartBeforeAndEndAfter(Collection<Long> itemIds, Status status,
+                                                                   LocalDateTime end, LocalDateTime start);
+
+    // пересечение интервалов: начало существующего раньше нового конца, а конец позже нового начала
+    boolean existsByItem_idAndStatusAndStartBeforeAndEndAfter(long itemId, Status status, LocalDateTime end,
+                                                             LocalDateTime start);
+
+    // меняет статус, только если бронирование всё ещё в ожидаемом статусе; возвращает число изменённых строк
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking b set b.status = ?3, b.version = b.version + 1 where b.id = ?1 and b.status = ?2")
+    int updateStatusIfCurrent(long id, Status expected, Status status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking b set b.status = ?3, b.version = b.version + 1 where b.id in ?1 and b.status = ?2")
+    int updateStatusesIfCurrent(Collection<Long> ids, Status expected, Status status);
 }
@@ -1,9 +1,11 @@
 package ru.practicum.shareit.booking.service;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingStatusResult;
 import ru.practicum.shareit.booking.dto.NewBookingRequest;
 import ru.practicum.shareit.booking.model.State;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface BookingService {
@@ -12,9 +14,13 @@ public interface BookingService {
 
     BookingDto updateStatus(long userId, long id, boolean approved);
 
+    List<BookingStatusResult> updateStatuses(long userId, List<Long> ids, boolean approved);
+
     BookingDto findById(long userId, long bookingId);
 
-    List<BookingDto> findByBookerId(long bookerId, State state);
+    List<BookingDto> findByBookerId(long bookerId, State state, int from, Integer size,
+                                    LocalDateTime afterStart, Long afterId);
 
-    List<BookingDto> findByOwnerId(long ownerId, State state);
+    List<BookingDto> findByOwnerId(long ownerId, State state, int from, Integer size,
+                                   LocalDateTime afterStart, Long afterId);
 }
@@ -3,120 +3,354 @@ package ru.practicum.shareit.booking.service;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingStatusResult;
 import ru.practicum.shareit.booking.dto.NewBookingRequest;
 import ru.practicum.shareit.booking.mapper.BookingDtoMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.OffsetPageRequest;
+import ru.practicum.shareit.exception.BookingStatusConflictException;
 import ru.practicum.shareit.exception.NoAccessException;
 import ru.practicum.shareit.exception.NotAvailableItemException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemViewCache;
+import ru.practicum.shareit.logging.SamplingFilter;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 @AllArgsConstructor(onConstructor_ = @Autowired)
 public class BookingServiceImpl implements BookingService {
+    // id различает бронирования с одинаковым началом, чтобы страницы и курсор не теряли и не повторяли строки
+    private static final Sort SORT = Sort.by(Sort.Direction.DESC, "start", "id");
 
     BookingRepository bookingRepository;
     ItemRepository itemRepository;
     UserRepository userRepository;
+    ItemViewCache itemViewCache;
 
     @Override
     @Transactional
     public BookingDto add(NewBookingRequest request, long bookerId) {
-        log.info("Начинаем создание бронирования предмета id = {}", request.getItemId());
+        log.atInfo()
+                .addKeyValue("itemId", request.getItemId())
+                .addKeyValue("bookerId", bookerId)
+                .log("Начинаем создание бронирования");
         User booker = userRepository.findById(bookerId)
                 .orElseThrow(() -> new NotFoundException("Бронирование от неизвестного пользователя"));
-        log.info("Определен владелец бронирования {}", booker);
-        Item item = itemRepository.findById(request.getItemId())
+        Item item = itemRepository.findWithLockById(request.getItemId())
                 .orElseThrow(() -> new NotFoundException("Предмет для бронирования не найден"));
         if (item.getAvailable()) {
+            if (hasApprovedOverlap(item.getId(), request.getStart(), request.getEnd())) {
+                log.atError().addKeyValue("itemId", item.getId()).log("Предмет уже забронирован на указанные даты");
+                throw new NotAvailableItemException("Предмет уже забронирован на указанные даты");
+            }
             Booking booking = BookingDtoMapper.mapToBookingAdd(request, booker, item);
             Booking result = bookingRepository.save(booking);
-            log.info("Создание бронирования прошло успешно {}", result);
+            itemViewCache.invalidate(item.getId(), "booking");
+            log.atInfo().addKeyValue("bookingId", result.getId()).log("Создание бронирования прошло успешно");
             return BookingDtoMapper.mapToBookingDto(result);
         }
-        log.error("Бронирование предмета недоступно");
+        log.atError().addKeyValue("itemId", item.getId()).log("Бронирование предмета недоступно");
         throw new NotAvailableItemException("Бронирование предмета недоступно");
     }
 
     @Override
     @Transactional
     public BookingDto updateStatus(long userId, long id, boolean approved) {
-        log.info("Начинаем обновление статуса бронирования id = {}", id);
+        log.atInfo()
+                .addKeyValue("bookingId", id)
+                .addKeyValue("userId", userId)
+                .log("Начинаем обновление статуса бронирования");
         Booking booking = bookingRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Бронирование не найдено"));
         if (userId == booking.getItem().getOwner().getId()) {
+            Status status = approved ? Status.APPROVED : Status.REJECTED;
+            if (booking.getStatus() == status) {
+                log.atInfo()
+                        .addKeyValue("bookingId", id)
+                        .addKeyValue("status", status)
+                        .log("Бронирование уже имеет запрошенный статус");
+                return BookingDtoMapper.mapToBookingDto(booking);
+            }
+            if (booking.getStatus() != Status.WAITING) {
+                log.atError()
+                        .addKeyValue("bookingId", id)
+                        .addKeyValue("status", booking.getStatus())
+                        .log("Решение по бронированию уже принято");
+                throw new BookingStatusConflictException("Решение по бронированию уже принято");
+            }
             if (approved) {
-                booking.setStatus(Status.APPROVED);
-            } else {
-                booking.setStatus(Status.REJECTED);
+                // до фиксации транзакции параллельное подтверждение бронирования той же вещи ждёт блокировки
+                itemRepository.findWithLockById(booking.getItem().getId())
+                        .orElseThrow(() -> new NotFoundException("Предмет для бронирования не найден"));
+            }
+            if (approved && hasApprovedOverlap(booking.getItem().getId(), booking.getStart(), booking.getEnd())) {
+                log.atError().addKeyValue("bookingId", id).log("Бронирование пересекается с уже подтверждённым");
+                throw new NotAvailableItemException("Предмет уже забронирован на указанные даты");
             }
-            log.info("Статус бронирования изменён на {}, обновление статуса бронирования завершено",
-                    booking.getStatus());
-            return BookingDtoMapper.mapToBookingDto(bookingRepository.save(booking));
+            // статус меняется одним условным UPDATE: из одновременных решений применяется только первое;
+            // повтор, как в ItemServiceImpl.update, здесь бессмыслен: после чужого решения бронирование
+            // уже не WAITING, и вторая попытка всё равно закончилась бы 409
+            if (bookingRepository.updateStatusIfCurrent(id, Status.WAITING, status) == 0) {
+                log.atError().addKeyValue("bookingId", id).log("Статус бронирования изменён параллельным запросом");
+                throw new BookingStatusConflictException("Решение по бронированию уже принято");
+            }
+            booking.setStatus(status);
+            itemViewCache.invalidate(booking.getItem().getId(), "booking");
+            log.atInfo()
+                    .addKeyValue("bookingId", id)
+                    .addKeyValue("status", status)
+                    .log("Обновление статуса бронирования завершено");
+            return BookingDtoMapper.mapToBookingDto(booking);
         }
-        log.error("У пользователя id = {} нет доступа к бронированию id = {}", userId, id);
+        log.atError().addKeyValue("userId", userId).addKeyValue("bookingId", id).log("Нет доступа к бронированию");
         throw new NoAccessException("Отказано в доступе к бронированию");
     }
 
+    @Override
+    @Transactional
+    public List<BookingStatusResult> updateStatuses(long userId, List<Long> ids, boolean approved) {
+        log.atInfo()
+                .addKeyValue("count", ids.size())
+                .addKeyValue("userId", userId)
+                .log("Начинаем пакетное обновление статуса бронирований");
+        Status status = approved ? Status.APPROVED : Status.REJECTED;
+        Map<Long, Booking> bookings = bookingRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        // порядок результатов совпадает с порядком идентификаторов в запросе, повторы отбрасываются
+        Map<Long, BookingStatusResult> results = new LinkedHashMap<>();
+        List<Booking> candidates = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            Booking booking = bookings.get(id);
+            if (booking == null) {
+                results.put(id, failure(id, BookingStatusResult.Result.NOT_FOUND, "Бронирование не найдено"));
+            } else if (userId != booking.getItem().getOwner().getId()) {
+                results.put(id, failure(id, BookingStatusResult.Result.NO_ACCESS, "Отказано в доступе к бронированию"));
+            } else if (booking.getStatus() == status) {
+                results.put(id, success(booking, BookingStatusResult.Result.UNCHANGED));
+            } else if (booking.getStatus() != Status.WAITING) {
+                results.put(id, failure(id, BookingStatusResult.Result.CONFLICT, "Решение по бронированию уже принято"));
+            } else {
+                results.put(id, null);
+                candidates.add(booking);
+            }
+        }
+        if (approved && !candidates.isEmpty()) {
+            rejectOverlapping(candidates, results);
+        }
+        if (!candidates.isEmpty()) {
+            List<Long> candidateIds = candidates.stream().map(Booking::getId).toList();
+            if (bookingRepository.updateStatusesIfCurrent(candidateIds, Status.WAITING, status) != candidateIds.size()) {
+                log.atError()
+                        .addKeyValue("count", candidateIds.size())
+                        .log("Статус части бронирований изменён параллельным запросом");
+                throw new BookingStatusConflictException("Часть бронирований изменена параллельным запросом, повторите попытку");
+            }
+            itemViewCache.invalidate(candidates.stream().map(booking -> booking.getItem().getId()).distinct().toList(),
+                    "booking");
+            candidates.forEach(booking -> {
+                booking.setStatus(status);
+                results.put(booking.getId(), success(booking, BookingStatusResult.Result.UPDATED));
+            });
+        }
+        log.atInfo()
+                .addKeyValue("count", candidates.size())
+                .addKeyValue("status", status)
+                .log("Пакетное обновление статуса бронирований завершено");
+        return List.copyOf(results.values());
+    }
+
     @Override
     public BookingDto findById(long userId, long bookingId) {
-        log.info("Начинаем получение бронирования id = {}", bookingId);
+        log.atInfo()
+                .addMarker(SamplingFilter.SAMPLED)
+                .addKeyValue("bookingId", bookingId)
+                .addKeyValue("userId", userId)
+                .log("Начинаем получение бронирования");
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Бронирование не найдено"));
-        log.info("Бронирование {} получено", booking);
         if (userId == booking.getItem().getOwner().getId() || userId == booking.getBooker().getId()) {
-            log.info("Получение бронирования id = {} завершено", bookingId);
+            log.atDebug()
+                    .addKeyValue("bookingId", bookingId)
+                    .log("Получение бронирования завершено");
             return BookingDtoMapper.mapToBookingDto(booking);
         }
-        log.error("У пользователя id = {} нет доступа к бронированию id = {}", userId, bookingId);
+        log.atError()
+                .addKeyValue("userId", userId)
+                .addKeyValue("bookingId", bookingId)
+                .log("Нет доступа к бронированию");
         throw new NoAccessException("Отказано в доступе к бронированию");
     }
 
     @Override
-    public List<BookingDto> findByBookerId(long bookerId, State state) {
-        log.info("Начинаем получение всех бронирований для пользователя id = {} по запросу {}", bookerId, state);
-        List<BookingDto> bookings = bookingRepository.findByBooker_id(bookerId).stream()
+    public List<BookingDto> findByBookerId(long bookerId, State state, int from, Integer size,
+                                           LocalDateTime afterStart, Long afterId) {
+        log.atInfo()
+                .addMarker(SamplingFilter.SAMPLED)
+                .addKeyValue("bookerId", bookerId)
+                .addKeyValue("state", state)
+                .log("Начинаем получение бронирований пользователя");
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> bookings;
+        if (afterStart != null && afterId != null) {
+            KeysetScrollPosition after = after(afterStart, afterId);
+            Limit limit = limit(size);
+            Window<Booking> window = switch (state) {
+                case State.CURRENT ->
+                        bookingRepository.findByBooker_idAndStartBeforeAndEndAfter(bookerId, now, now, after, limit, SORT);
+                case State.PAST -> bookingRepository.findByBooker_idAndEndBefore(bookerId, now, after, limit, SORT);
+                case State.FUTURE -> bookingRepository.findByBooker_idAndStartAfter(bookerId, now, after, limit, SORT);
+                case State.WAITING ->
+                        bookingRepository.findByBooker_idAndStatus(bookerId, Status.WAITING, after, limit, SORT);
+                case State.REJECTED ->
+                        bookingRepository.findByBooker_idAndStatus(bookerId, Status.REJECTED, after, limit, SORT);
+                case State.ALL -> bookingRepository.findByBooker_id(bookerId, after, limit, SORT);
+            };
+            bookings = window.getContent();
+        } else {
+            Pageable page = page(from, size);
+            bookings = switch (state) {
+                case State.CURRENT -> bookingRepository.findByBooker_idAndStartBeforeAndEndAfter(bookerId, now, now, page);
+                case State.PAST -> bookingRepository.findByBooker_idAndEndBefore(bookerId, now, page);
+                case State.FUTURE -> bookingRepository.findByBooker_idAndStartAfter(bookerId, now, page);
+                case State.WAITING -> bookingRepository.findByBooker_idAndStatus(bookerId, Status.WAITING, page);
+                case State.REJECTED -> bookingRepository.findByBooker_idAndStatus(bookerId, Status.REJECTED, page);
+                case State.ALL -> bookingRepository.findByBooker_id(bookerId, page);
+            };
+        }
+        return bookings.stream()
                 .map(BookingDtoMapper::mapToBookingDto)
                 .toList();
-        return checkState(bookings, state);
     }
 
     @Override
-    public List<BookingDto> findByOwnerId(long ownerId, State state) {
-        log.info("Начинаем получение всех бронирований для всех вещей пользователя id = {} по запросу {}", ownerId, state);
+    public List<BookingDto> findByOwnerId(long ownerId, State state, int from, Integer size,
+                                          LocalDateTime afterStart, Long afterId) {
+        log.atInfo()
+                .addMarker(SamplingFilter.SAMPLED)
+                .addKeyValue("ownerId", ownerId)
+                .addKeyValue("state", state)
+                .log("Начинаем получение бронирований вещей владельца");
         userRepository.findById(ownerId).orElseThrow(() -> new NotFoundException("Пользователь не найден"));
-        List<BookingDto> bookings = bookingRepository.findByItemOwner_id(ownerId).stream()
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> bookings;
+        if (afterStart != null && afterId != null) {
+            KeysetScrollPosition after = after(afterStart, afterId);
+            Limit limit = limit(size);
+            Window<Booking> window = switch (state) {
+                case State.CURRENT -> bookingRepository.findByItem_Owner_idAndStartBeforeAndEndAfter(ownerId, now, now,
+                        after, limit, SORT);
+                case State.PAST -> bookingRepository.findByItem_Owner_idAndEndBefore(ownerId, now, after, limit, SORT);
+                case State.FUTURE -> bookingRepository.findByItem_Owner_idAndStartAfter(ownerId, now, after, limit, SORT);
+                case State.WAITING ->
+                        bookingRepository.findByItem_Owner_idAndStatus(ownerId, Status.WAITING, after, limit, SORT);
+                case State.REJECTED ->
+                        bookingRepository.findByItem_Owner_idAndStatus(ownerId, Status.REJECTED, after, limit, SORT);
+                case State.ALL -> bookingRepository.findByItem_Owner_id(ownerId, after, limit, SORT);
+            };
+            bookings = window.getContent();
+        } else {
+            Pageable page = page(from, size);
+            bookings = switch (state) {
+                case State.CURRENT -> bookingRepository.findByItem_Owner_idAndStartBeforeAndEndAfter(ownerId, now, now, page);
+                case State.PAST -> bookingRepository.findByItem_Owner_idAndEndBefore(ownerId, now, page);
+                case State.FUTURE -> bookingRepository.findByItem_Owner_idAndStartAfter(ownerId, now, page);
+                case State.WAITING -> bookingRepository.findByItem_Owner_idAndStatus(ownerId, Status.WAITING, page);
+                case State.REJECTED -> bookingRepository.findByItem_Owner_idAndStatus(ownerId, Status.REJECTED, page);
+                case State.ALL -> bookingRepository.findByItem_Owner_id(ownerId, page);
+            };
+        }
+        return bookings.stream()
                 .map(BookingDtoMapper::mapToBookingDto)
                 .toList();
-        return checkState(bookings, state);
     }
 
-    private List<BookingDto> checkState(List<BookingDto> bookings, State state) {
-        return switch (state) {
-            case State.CURRENT ->
-                    bookings.stream().filter(booking -> booking.getStatus().equals(Status.APPROVED)).toList();
-            case State.PAST ->
-                    bookings.stream().filter(booking -> booking.getEnd().isBefore(LocalDateTime.now())).toList();
-            case State.FUTURE ->
-                    bookings.stream().filter(booking -> booking.getStart().isAfter(LocalDateTime.now())).toList();
-            case State.WAITING ->
-                    bookings.stream().filter(booking -> booking.getStatus().equals(Status.WAITING)).toList();
-            case State.REJECTED ->
-                    bookings.stream().filter(booking -> booking.getStatus().equals(Status.REJECTED)).toList();
-            case State.ALL -> bookings;
-        };
+    private boolean hasApprovedOverlap(long itemId, LocalDateTime start, LocalDateTime end) {
+        return bookingRepository.existsByItem_idAndStatusAndStartBeforeAndEndAfter(itemId, Status.APPROVED, end, start);
+    }
+
+    // одним запросом получает подтверждённые бронирования тех же вещей в пределах окна кандидатов;
+    // кандидаты проверяются и друг с другом
+    private void rejectOverlapping(List<Booking> candidates, Map<Long, BookingStatusResult> results) {
+        List<Long> itemIds = candidates.stream().map(booking -> booking.getItem().getId()).distinct().toList();
+        // вещи блокируются в порядке id, чтобы встречные пакеты не ждали друг друга по кругу
+        itemRepository.findWithLockByIdInOrderByIdAsc(itemIds);
+        LocalDateTime windowStart = candidates.stream().map(Booking::getStart).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime windowEnd = candidates.stream().map(Booking::getEnd).max(Comparator.naturalOrder()).orElseThrow();
+        Map<Long, List<Booking>> taken = bookingRepository.findByItem_idInAndStatusAndStartBeforeAndEndAfter(
+                        itemIds, Status.APPROVED, windowEnd, windowStart).stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId(),
+                        Collectors.toCollection(ArrayList::new)));
+        Iterator<Booking> iterator = candidates.iterator();
+        while (iterator.hasNext()) {
+            Booking booking = iterator.next();
+            List<Booking> itemBookings = taken.computeIfAbsent(booking.getItem().getId(), id -> new ArrayList<>());
+            if (itemBookings.stream().anyMatch(other -> overlaps(other, booking))) {
+                results.put(booking.getId(), failure(booking.getId(), BookingStatusResult.Result.NOT_AVAILABLE,
+                        "Предмет уже забронирован на указанные даты"));
+                iterator.remove();
+            } else {
+                itemBookings.add(booking);
+            }
+        }
+    }
+
+    private static boolean overlaps(Booking first, Booking second) {
+        return first.getStart().isBefore(second.getEnd()) && first.getEnd().isAfter(second.getStart());
+    }
+
+    private static BookingStatusResult success(Booking booking, BookingStatusResult.Result result) {
+        return BookingStatusResult.builder()
+                .bookingId(booking.getId())
+                .result(result)
+                .booking(BookingDtoMapper.mapToBookingDto(booking))
+                .build();
+    }
+
+    private static BookingStatusResult failure(long bookingId, BookingStatusResult.Result result, String error) {
+        return BookingStatusResult.builder()
+                .bookingId(bookingId)
+                .result(result)
+                .error(error)
+                .build();
+    }
+
+    // без size список возвращается целиком, как до появления постраничного вывода
+    private static Pageable page(int from, Integer size) {
+        return size == null ? Pageable.unpaged(SORT) : OffsetPageRequest.of(from, size, SORT);
+    }
+
+    private static KeysetScrollPosition after(LocalDateTime afterStart, long afterId) {
+        return ScrollPosition.forward(Map.of("start", afterStart, "id", afterId));
+    }
+
+    private static Limit limit(Integer size) {
+        return size == null ? Limit.unlimited() : Limit.of(size);
     }
 }
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * ETag по хэшу тела ответа для вещей, запросов и бронирований, которые клиенты часто перезапрашивают.
+ * Если If-None-Match совпадает с ETag, ответ 304 уходит без тела.
+ * Это слабый хэш содержимого, а не версия сущности: ответ всё равно собирается и сериализуется,
+ * 304 экономит только передачу тела. Version сущности не подходит: в представление вещи входят
+ * бронирования и отзывы, которые Item.version не меняют.
+ * ETag слабые: Tomcat не сжимает ответы с сильным ETag, а представление в gzip побайтно другое.
+ */
+@Configuration
+public class EtagFilterConfig {
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> etagFilter() {
+        ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter();
+        filter.setWriteWeakETag(true);
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/items/*", "/requests/*", "/bookings/*");
+        return registration;
+    }
+}
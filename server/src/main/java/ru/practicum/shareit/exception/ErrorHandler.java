@@ -2,7 +2,10 @@ package ru.practicum.shareit.exception;
 
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -12,6 +15,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 @RestControllerAdvice
 @Slf4j
 public class ErrorHandler {
+    private static final String BOOKING_OVERLAP_CONSTRAINT = "bookings_approved_no_overlap";
 
     //бронирование недоступно
     @ExceptionHandler(NotAvailableItemException.class)
@@ -30,10 +34,36 @@ public class ErrorHandler {
         return response("Email уже используется", e.getMessage(), HttpStatus.CONFLICT);
     }
 
+    //пересечение подтверждённых бронирований, пропущенное проверкой при одновременных запросах;
+    //остальные нарушения ограничений базы (NOT NULL, внешние ключи, длина) остаются ошибками сервера
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<?> handleDataIntegrity(DataIntegrityViolationException e) {
+        if (isBookingOverlap(e)) {
+            log.error("Нарушено ограничение {}: {}", BOOKING_OVERLAP_CONSTRAINT, e.getMostSpecificCause().getMessage());
+            return response("Бронирование не доступно", "Предмет уже забронирован на указанные даты",
+                    HttpStatus.CONFLICT);
+        }
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(handleServerError(e));
+    }
+
+    //параллельное изменение: решение по бронированию уже принято или запись изменена другим запросом
+    @ExceptionHandler(BookingStatusConflictException.class)
+    public ResponseEntity<String> handleStatusConflict(BookingStatusConflictException e) {
+        return response("Конфликт изменения статуса", e.getMessage(), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLock(OptimisticLockingFailureException e) {
+        log.error("Запись изменена параллельным запросом: {}", e.getMessage());
+        return response("Конфликт изменения данных", "Запись изменена параллельным запросом, повторите попытку",
+                HttpStatus.CONFLICT);
+    }
+
     //ошибки валидации данных
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<String> handleValidationException(MethodArgumentNotValidException e) {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .contentType(MediaType.APPLICATION_JSON)
                 .body("Validation failed: " + e.getMessage());
     }
 
@@ -66,6 +96,16 @@ public class ErrorHandler {
         return new ErrorResponse("Access denied", e.getMessage());
     }
 
+    // Hibernate не извлекает имя исключающего ограничения (SQLSTATE 23P01), тогда оно берётся из сообщения драйвера
+    private static boolean isBookingOverlap(DataIntegrityViolationException e) {
+        if (e.getCause() instanceof org.hibernate.exception.ConstraintViolationException cause
+                && cause.getConstraintName() != null) {
+            return BOOKING_OVERLAP_CONSTRAINT.equalsIgnoreCase(cause.getConstraintName());
+        }
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.contains(BOOKING_OVERLAP_CONSTRAINT);
+    }
+
     private static String createJson(String message, String reason) {
         return "{\"error\" : \"" + message + "\"," +
                 "\"reason\" : \"" + reason + "\"}";
@@ -75,6 +115,9 @@ public class ErrorHandler {
                                                    String reason,
                                                    HttpStatus httpStatus) {
         String json = createJson(message, reason);
-        return new ResponseEntity<>(json, httpStatus);
+        // строка уже собрана как JSON и не должна получать тип из Accept (например, Smile от gateway)
+        return ResponseEntity.status(httpStatus)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(json);
     }
 }
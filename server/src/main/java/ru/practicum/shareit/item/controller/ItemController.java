@@ -34,6 +34,12 @@ public class ItemController {
         return itemService.getUserItems(userId);
     }
 
+    @GetMapping("/owner")
+    @ResponseStatus(HttpStatus.OK)
+    public List<ItemDtoBooking> getOwnerItems(@RequestHeader("X-Sharer-User-Id") long userId) {
+        return itemService.getOwnerItems(userId);
+    }
+
     @GetMapping("/search")
     @ResponseStatus(HttpStatus.OK)
     public List<ItemDto> searchItem(@RequestParam String text) {
@@ -47,6 +53,13 @@ public class ItemController {
         return itemService.add(userId, request);
     }
 
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<ItemDto> createItems(@RequestHeader("X-Sharer-User-Id") long userId,
+                                     @RequestBody List<NewItemRequest> requests) {
+        return itemService.addAll(userId, requests);
+    }
+
     @PatchMapping("/{itemId}")
     @ResponseStatus(HttpStatus.OK)
     public ItemDto updateItem(@RequestHeader("X-Sharer-User-Id") long userId,
@@ -10,6 +10,8 @@ import ru.practicum.shareit.item.dto.NewItemRequest;
 import ru.practicum.shareit.item.dto.UpdateItemRequest;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemView;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.RequestDtoMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.mapper.UserDtoMapper;
@@ -47,6 +49,26 @@ public final class ItemDtoMapper {
         return itemDto;
     }
 
+    public static ItemDto mapToDto(ItemView view) {
+        ItemDto itemDto = ItemDto.builder()
+                .id(view.id())
+                .name(view.name())
+                .description(view.description())
+                .available(view.available())
+                .owner(UserDtoMapper.mapToUserDto(view.ownerId(), view.ownerName(), view.ownerEmail()))
+                .build();
+        if (view.requestId() != null) {
+            itemDto.setItemRequest(ItemRequestDto.builder()
+                    .id(view.requestId())
+                    .description(view.requestDescription())
+                    .requestor(UserDtoMapper.mapToUserDto(view.requestorId(), view.requestorName(),
+                            view.requestorEmail()))
+                    .created(view.requestCreated())
+                    .build());
+        }
+        return itemDto;
+    }
+
     public static Item mapToDtoUpdate(Item item, UpdateItemRequest request) {
         if (request.hasName()) {
             item.setName(request.getName());
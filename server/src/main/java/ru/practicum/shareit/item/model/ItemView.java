@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Строка результата поиска: вещь, владелец и запрос с автором, читается одним запросом без загрузки сущностей.
+ */
+public record ItemView(Long id, String name, String description, Boolean available,
+                       Long ownerId, String ownerName, String ownerEmail,
+                       Long requestId, String requestDescription, LocalDateTime requestCreated,
+                       Long requestorId, String requestorName, String requestorEmail) {
+}
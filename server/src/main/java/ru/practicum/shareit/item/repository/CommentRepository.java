@@ -1,10 +1,15 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByItem_id(long itemId);
+
+    @EntityGraph(attributePaths = "author")
+    List<Comment> findByItem_idIn(Collection<Long> itemIds);
 }
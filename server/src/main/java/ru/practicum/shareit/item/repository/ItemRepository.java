@@ -1,21 +1,48 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemView;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
+    @EntityGraph(attributePaths = {"owner", "request"})
     List<Item> findByOwner(User owner);
 
-    @Query("select it from Item it " +
+    @Query("select new ru.practicum.shareit.item.model.ItemView(" +
+            "it.id, it.name, it.description, it.available, o.id, o.name, o.email, " +
+            "r.id, r.description, r.created, rq.id, rq.name, rq.email) " +
+            "from Item it left join it.owner o left join it.request r left join r.requestor rq " +
             "where it.available = true and " +
             "(upper(it.name) like upper(concat('%', ?1, '%')) " +
             " or upper(it.description) like upper(concat('%', ?1, '%')))")
-    List<Item> searchItem(String text);
+    List<ItemView> searchItem(String text);
 
     List<Item> findByRequestId(Long requestId);
+
+    // блокировка строки вещи упорядочивает проверку пересечения и подтверждение бронирований этой вещи
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Item> findWithLockById(long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Item> findWithLockByIdInOrderByIdAsc(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = {"owner", "request"})
+    List<Item> findByRequestIdIn(Collection<Long> requestIds);
+
+    // вещи, в собранном представлении которых есть данные пользователя: как владельца, арендатора или автора
+    @Query("select it.id from Item it " +
+            "where it.owner.id = ?1 " +
+            "or exists (select b.id from Booking b where b.item = it and b.booker.id = ?1) " +
+            "or exists (select c.id from Comment c where c.item = it and c.author.id = ?1)")
+    List<Long> findIdsReferencingUser(long userId);
 }
@@ -9,10 +9,14 @@ public interface ItemService {
 
     ItemDto add(long userId, NewItemRequest request);
 
+    List<ItemDto> addAll(long userId, List<NewItemRequest> requests);
+
     ItemDto update(long userId, long id, UpdateItemRequest request);
 
     List<ItemDto> getUserItems(long userId);
 
+    List<ItemDtoBooking> getOwnerItems(long userId);
+
     List<ItemDto> searchItems(String text);
 
     CommentDto addComment(NewCommentRequest request, long itemId, long userId);
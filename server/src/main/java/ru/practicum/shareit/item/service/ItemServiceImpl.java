@@ -3,8 +3,13 @@ package ru.practicum.shareit.item.service;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
@@ -18,6 +23,7 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.logging.SamplingFilter;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.mapper.UserDtoMapper;
@@ -27,6 +33,11 @@ import ru.practicum.shareit.user.service.UserService;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -37,61 +48,137 @@ public class ItemServiceImpl implements ItemService {
     BookingRepository bookingRepository;
     CommentRepository commentRepository;
     ItemRequestRepository itemRequestRepository;
+    ItemViewCache itemViewCache;
+    PlatformTransactionManager transactionManager;
 
     @Override
-    @Transactional
     public ItemDtoBooking getById(long itemId) {
-        log.info("Начинаем получение предмета с id {}", itemId);
+        log.atInfo().addMarker(SamplingFilter.SAMPLED).addKeyValue("itemId", itemId).log("Начинаем получение предмета");
+        return itemViewCache.get(itemId, this::loadItemView);
+    }
+
+    private ItemDtoBooking loadItemView(long itemId) {
+        // вещь, бронирования и отзывы читаются одним снимком, а не тремя отдельными транзакциями;
+        // getById не транзакционный, чтобы попадания в кэш не занимали соединение
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction.execute(status -> readItemView(itemId));
+    }
+
+    private ItemDtoBooking readItemView(long itemId) {
         Item item = itemRepository.findById(itemId).orElseThrow(() -> new NotFoundException("Предмет не найден"));
         List<Booking> bookings = bookingRepository.findByItem_idAndStatus(itemId, Status.WAITING);
         List<Comment> comments = commentRepository.findByItem_id(itemId);
         ItemDtoBooking itemDtoBooking = ItemDtoMapper.mapToItemDtoBooking(item,
                 bookings,
                 comments);
-        log.info("Получение предмета {} завершено", itemDtoBooking);
+        log.atDebug()
+                .addKeyValue("itemId", itemId)
+                .addKeyValue("bookings", bookings.size())
+                .addKeyValue("comments", comments.size())
+                .log("Получение предмета завершено");
         return itemDtoBooking;
     }
 
     @Override
     public List<ItemDto> getUserItems(long userId) {
-        log.info("Получаем все предметы для пользователя id = {}", userId);
+        log.atInfo()
+                .addMarker(SamplingFilter.SAMPLED)
+                .addKeyValue("userId", userId)
+                .log("Получаем все предметы пользователя");
         return itemRepository.findByOwner(UserDtoMapper.mapToUser(userService.getById(userId))).stream()
                 .map(ItemDtoMapper::mapToDto)
                 .toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemDtoBooking> getOwnerItems(long userId) {
+        log.atInfo()
+                .addMarker(SamplingFilter.SAMPLED)
+                .addKeyValue("userId", userId)
+                .log("Получаем предметы владельца с бронированиями и отзывами");
+        List<Item> items = itemRepository.findByOwner(UserDtoMapper.mapToUser(userService.getById(userId)));
+        if (items.isEmpty()) {
+            return List.of();
+        }
+        List<Long> itemIds = items.stream().map(Item::getId).toList();
+        Map<Long, List<Booking>> bookings = bookingRepository
+                .findByItem_idInAndStatusOrderByStartAsc(itemIds, Status.WAITING).stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+        Map<Long, List<Comment>> comments = commentRepository.findByItem_idIn(itemIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+        return items.stream()
+                .map(item -> ItemDtoMapper.mapToItemDtoBooking(item,
+                        bookings.getOrDefault(item.getId(), List.of()),
+                        comments.getOrDefault(item.getId(), List.of())))
+                .toList();
+    }
+
     @Override
     @Transactional
     public ItemDto add(long userId, NewItemRequest request) {
-        log.info("Начинаем создание предмета {}", request);
+        log.atInfo().addKeyValue("userId", userId).log("Начинаем создание предмета");
         User owner = UserDtoMapper.mapToUser(userService.getById(userId));
-        log.info("Определен владелец предмета {}: {}", request, owner);
         ItemRequest itemRequest;
         if (request.getRequestId() != null) {
             itemRequest = itemRequestRepository.findById(request.getRequestId())
                     .orElseThrow(() -> new NotFoundException("Запрос не найден"));
-            log.info("Получаем запрос на создание предмета {}", itemRequest);
+            log.atInfo().addKeyValue("requestId", itemRequest.getId()).log("Предмет создаётся в ответ на запрос");
         } else {
             itemRequest = null;
         }
         Item item = ItemDtoMapper.mapToItemAdd(request, owner, itemRequest);
         itemRepository.save(item);
-        log.info("Создание предмета {} прошло успешно, предмету присвоен id = {}", item, item.getId());
+        log.atInfo().addKeyValue("itemId", item.getId()).log("Создание предмета прошло успешно");
         return ItemDtoMapper.mapToDto(item);
     }
 
     @Override
     @Transactional
+    public List<ItemDto> addAll(long userId, List<NewItemRequest> requests) {
+        log.atInfo()
+                .addKeyValue("count", requests.size())
+                .addKeyValue("userId", userId)
+                .log("Начинаем импорт предметов");
+        User owner = UserDtoMapper.mapToUser(userService.getById(userId));
+        Set<Long> requestIds = requests.stream()
+                .map(NewItemRequest::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, ItemRequest> itemRequests = itemRequestRepository.findAllById(requestIds).stream()
+                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+        if (itemRequests.size() != requestIds.size()) {
+            log.atError().addKeyValue("count", requestIds.size()).log("Среди запросов есть несуществующие");
+            throw new NotFoundException("Запрос не найден");
+        }
+        List<Item> items = requests.stream()
+                .map(request -> ItemDtoMapper.mapToItemAdd(request, owner, itemRequests.get(request.getRequestId())))
+                .toList();
+        // id выдаются последовательностью блоками, поэтому вставки уходят пакетами hibernate.jdbc.batch_size
+        List<Item> result = itemRepository.saveAll(items);
+        log.atInfo().addKeyValue("count", result.size()).log("Импорт предметов завершён");
+        return result.stream()
+                .map(ItemDtoMapper::mapToDto)
+                .toList();
+    }
+
+    // при параллельном изменении вещь перечитывается и изменения применяются к свежей версии
+    @Override
+    @Transactional
+    @Retryable(retryFor = OptimisticLockingFailureException.class, maxAttempts = 3,
+            backoff = @Backoff(delay = 20, multiplier = 2, random = true))
     public ItemDto update(long userId, long idItem, UpdateItemRequest request) {
-        log.info("Началось обновление вещи id = {}", idItem);
+        log.atInfo().addKeyValue("itemId", idItem).addKeyValue("userId", userId).log("Началось обновление вещи");
         Item oldItem = itemRepository.findById(idItem).orElseThrow(() -> new NotFoundException("Предмет не найден"));
         if (userId == oldItem.getOwner().getId()) {
             Item updateItem = ItemDtoMapper.mapToDtoUpdate(oldItem, request);
             Item result = itemRepository.save(updateItem);
-            log.info("Обновление предмета {} завершено", result);
+            itemViewCache.invalidate(idItem, "item");
+            log.atInfo().addKeyValue("itemId", result.getId()).log("Обновление предмета завершено");
             return ItemDtoMapper.mapToDto(result);
         }
-        log.error("У пользователя id = {} нет доступа к вещи id = {}", userId, idItem);
+        log.atError().addKeyValue("userId", userId).addKeyValue("itemId", idItem).log("Нет доступа к вещи");
         throw new NoAccessException("Отказано в доступе к предмету");
     }
 
@@ -99,10 +186,13 @@ public class ItemServiceImpl implements ItemService {
     public List<ItemDto> searchItems(String text) {
         List<ItemDto> search = new ArrayList<>();
         if (text.isEmpty() || text.isBlank()) {
-            log.info("Введен пустой поисковый запрос");
+            log.atInfo().addMarker(SamplingFilter.SAMPLED).log("Введен пустой поисковый запрос");
             return search;
         }
-        log.info("Возвращаем список вещей по запросу {}", text);
+        log.atInfo()
+                .addMarker(SamplingFilter.SAMPLED)
+                .addKeyValue("text", text)
+                .log("Возвращаем список вещей по запросу");
         search = itemRepository.searchItem(text).stream()
                 .map(ItemDtoMapper::mapToDto)
                 .toList();
@@ -112,23 +202,36 @@ public class ItemServiceImpl implements ItemService {
     @Override
     @Transactional
     public CommentDto addComment(NewCommentRequest request, long itemId, long userId) {
-        log.info("Начинаем добавление комментария {}", request);
+        log.atInfo().addKeyValue("itemId", itemId).addKeyValue("userId", userId).log("Начинаем добавление комментария");
         User author = UserDtoMapper.mapToUser(userService.getById(userId));
         Item item = itemRepository.findById(itemId).orElseThrow(() -> new NotFoundException("Предмет не найден"));
         Booking booking = bookingRepository.findByItemAndBooker(item, author);
-        log.info("Получено бронирование {} для пользователя id = {}", booking, userId);
         if (booking == null) {
-            log.error("Бронирование для предмета id = {} от пользователя id = {} не найдено", itemId, userId);
+            log.atError()
+                    .addKeyValue("itemId", itemId)
+                    .addKeyValue("userId", userId)
+                    .log("Бронирование предмета пользователем не найдено");
             throw new NoAccessAddCommentException("Бронирование для предмета не найдено, невозможно добавить комментарий");
         }
+        log.atInfo()
+                .addKeyValue("bookingId", booking.getId())
+                .addKeyValue("userId", userId)
+                .log("Получено бронирование для комментария");
         if (booking.getEnd().isAfter(LocalDateTime.now())) {
-            log.error("Срок бронирования предмета id = {} для пользователя id = {} еще не закончился", itemId, userId);
+            log.atError()
+                    .addKeyValue("itemId", itemId)
+                    .addKeyValue("userId", userId)
+                    .log("Срок бронирования предмета еще не закончился");
             throw new NoAccessAddCommentException("Срок бронирования предмета еще не закончился");
         }
 
         Comment comment = CommentDtoMapper.mapToCommentAdd(request, item, author);
         Comment saved = commentRepository.save(comment);
-        log.info("Создание комментария прошло успешно {}, комментарию присвоен id = {}", saved, saved.getId());
+        itemViewCache.invalidate(itemId, "comment");
+        log.atInfo()
+                .addKeyValue("commentId", saved.getId())
+                .addKeyValue("itemId", itemId)
+                .log("Создание комментария прошло успешно");
         return CommentDtoMapper.mapToDto(saved);
     }
 }
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.item.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemDtoBooking;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.LongFunction;
+
+/**
+ * Кэш собранных {@link ItemDtoBooking} по id вещи.
+ * Одновременные промахи по одному id приводят к одной загрузке, остальные ждут её результат;
+ * загрузка выполняется вне блокировок кэша. Запись сбрасывается после завершения транзакции,
+ * изменившей вещь, её бронирования или комментарии, а также имя или почту упомянутого в ней пользователя
+ * и при каскадном удалении вместе с пользователем.
+ */
+@Component
+public class ItemViewCache {
+
+    private final AsyncCache<Long, ItemDtoBooking> cache;
+    private final MeterRegistry registry;
+
+    @Autowired
+    public ItemViewCache(@Value("${shareit-server.item-cache.max-size}") long maxSize,
+                         @Value("${shareit-server.item-cache.ttl}") Duration ttl,
+                         MeterRegistry registry) {
+        this.cache = CaffeineCacheMetrics.monitor(registry, Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync(), "itemViews");
+        this.registry = registry;
+    }
+
+    public ItemDtoBooking get(long itemId, LongFunction<ItemDtoBooking> loader) {
+        CompletableFuture<ItemDtoBooking> loading = new CompletableFuture<>();
+        CompletableFuture<ItemDtoBooking> cached = cache.get(itemId, (id, executor) -> loading);
+        if (cached == loading) {
+            try {
+                loading.complete(loader.apply(itemId));
+            } catch (Throwable e) {
+                // неудачная загрузка удаляется из кэша автоматически; без завершения future
+                // (например, при Error) все последующие чтения этой вещи ждали бы в join() вечно
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return cached.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public void invalidate(long itemId, String reason) {
+        invalidate(List.of(itemId), reason);
+    }
+
+    public void invalidate(Collection<Long> itemIds, String reason) {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        Counter.builder("shareit.item.cache.invalidations")
+                .tag("reason", reason)
+                .register(registry)
+                .increment(itemIds.size());
+        List<Long> ids = List.copyOf(itemIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // до фиксации параллельное чтение вернуло бы в кэш старые данные
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.synchronous().invalidateAll(ids);
+                }
+            });
+        } else {
+            cache.synchronous().invalidateAll(ids);
+        }
+    }
+}
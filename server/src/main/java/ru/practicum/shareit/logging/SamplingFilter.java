@@ -0,0 +1,48 @@
+package ru.practicum.shareit.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Пропускает каждое rate-е INFO-событие с маркером {@link #SAMPLED} от логгеров пакета loggerPrefix.
+ * Остальные события фильтр не трогает. Настраивается в logback-spring.xml, по экземпляру на пакет.
+ * Счётчик общий для пакета, поэтому маркер ставится только на начальную строку операции:
+ * две помеченные строки одного вызова отбирались бы независимо. Завершающие строки чтений пишутся в DEBUG.
+ */
+public class SamplingFilter extends Filter<ILoggingEvent> {
+
+    public static final Marker SAMPLED = MarkerFactory.getMarker("SAMPLED");
+
+    private final AtomicLong counter = new AtomicLong();
+    private String loggerPrefix = "";
+    private int rate = 1;
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        if (rate <= 1
+                || event.getLevel().isGreaterOrEqual(Level.WARN)
+                || !event.getLoggerName().startsWith(loggerPrefix)
+                || !isSampled(event)) {
+            return FilterReply.NEUTRAL;
+        }
+        return counter.getAndIncrement() % rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+
+    public void setRate(int rate) {
+        this.rate = rate;
+    }
+
+    private static boolean isSampled(ILoggingEvent event) {
+        return event.getMarkerList() != null && event.getMarkerList().contains(SAMPLED);
+    }
+}
@@ -7,6 +7,7 @@ import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestListAnswerDto;
 import ru.practicum.shareit.request.dto.NewRequest;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestView;
 import ru.practicum.shareit.user.mapper.UserDtoMapper;
 import ru.practicum.shareit.user.model.User;
 
@@ -33,6 +34,15 @@ public final class RequestDtoMapper {
                 .build();
     }
 
+    public static ItemRequestDto mapToDto(ItemRequestView view) {
+        return ItemRequestDto.builder()
+                .id(view.id())
+                .description(view.description())
+                .requestor(UserDtoMapper.mapToUserDto(view.requestorId(), view.requestorName(), view.requestorEmail()))
+                .created(view.created())
+                .build();
+    }
+
     public static ItemRequestListAnswerDto mapToRequestWithList(ItemRequest request,
                                                                 List<ItemDto> answers) {
         return ItemRequestListAnswerDto.builder()
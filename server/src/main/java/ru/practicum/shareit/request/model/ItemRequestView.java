@@ -0,0 +1,10 @@
+package ru.practicum.shareit.request.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Строка списка запросов вместе с автором, читается одним запросом без загрузки сущностей.
+ */
+public record ItemRequestView(Long id, String description, LocalDateTime created,
+                              Long requestorId, String requestorName, String requestorEmail) {
+}
@@ -1,10 +1,20 @@
 package ru.practicum.shareit.request.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestView;
 
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
+    @EntityGraph(attributePaths = "requestor")
     List<ItemRequest> findByRequestorId(long requestorId);
+
+    @Query("select new ru.practicum.shareit.request.model.ItemRequestView(" +
+            "r.id, r.description, r.created, rq.id, rq.name, rq.email) " +
+            "from ItemRequest r left join r.requestor rq " +
+            "order by r.id desc")
+    List<ItemRequestView> findAllViews();
 }
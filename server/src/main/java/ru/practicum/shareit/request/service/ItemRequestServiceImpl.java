@@ -8,8 +8,8 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.ItemDtoMapper;
-import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.logging.SamplingFilter;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestListAnswerDto;
 import ru.practicum.shareit.request.dto.NewRequest;
@@ -20,8 +20,8 @@ import ru.practicum.shareit.user.mapper.UserDtoMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
-import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -35,55 +35,67 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     @Transactional
     public ItemRequestDto add(long userId, NewRequest request) {
-        log.info("Начинаем создание запроса {}", request);
+        log.atInfo().addKeyValue("userId", userId).log("Начинаем создание запроса");
         User requestor = UserDtoMapper.mapToUser(userService.getById(userId));
-        log.info("Определен владелец запроса {}: {}", request, requestor);
         ItemRequest itemRequest = RequestDtoMapper.mapToRequestAdd(request, requestor);
         ItemRequest result = itemRequestRepository.save(itemRequest);
-        log.info("Создание запроса {} прошло успешно, запросу присвоен id = {}", result, result.getId());
+        log.atInfo().addKeyValue("requestId", result.getId()).log("Создание запроса прошло успешно");
         return RequestDtoMapper.mapToDto(result);
     }
 
     @Override
     @Transactional
     public List<ItemRequestListAnswerDto> findByRegistorId(long requestorId) {
-        log.info("Начинаем получение всех запросов пользователя id = {} со списком ответов", requestorId);
+        log.atInfo()
+                .addMarker(SamplingFilter.SAMPLED)
+                .addKeyValue("userId", requestorId)
+                .log("Начинаем получение запросов пользователя со списком ответов");
         List<ItemRequest> requests = itemRequestRepository.findByRequestorId(requestorId);
+        Map<Long, List<ItemDto>> answers = findAnswers(requests);
         List<ItemRequestListAnswerDto> listAnswers = requests.stream()
                 .map(request -> RequestDtoMapper.mapToRequestWithList(request,
-                        mapAnswers(itemRepository.findByRequestId(request.getId()))))
+                        answers.getOrDefault(request.getId(), List.of())))
                 .toList();
-        log.info("Получен список всех запросов для пользователя id = {}: {}", requestorId, listAnswers);
+        log.atDebug()
+                .addKeyValue("userId", requestorId)
+                .addKeyValue("count", listAnswers.size())
+                .log("Получение запросов пользователя завершено");
         return listAnswers;
     }
 
     @Override
     public List<ItemRequestDto> findAll() {
-        log.info("Получаем список всех запросов от всех пользователей");
-        return itemRequestRepository.findAll().stream()
+        log.atInfo().addMarker(SamplingFilter.SAMPLED).log("Получаем список всех запросов от всех пользователей");
+        return itemRequestRepository.findAllViews().stream()
                 .map(RequestDtoMapper::mapToDto)
-                .collect(Collectors.collectingAndThen(
-                        Collectors.toList(), list -> {
-                            Collections.reverse(list);
-                            return list.stream();
-                        }))
-                .collect(Collectors.toList());
+                .toList();
     }
 
     @Override
     @Transactional
     public ItemRequestListAnswerDto findById(long requestId) {
-        log.info("Начинаем получение запроса id = {}", requestId);
+        log.atInfo()
+                .addMarker(SamplingFilter.SAMPLED)
+                .addKeyValue("requestId", requestId)
+                .log("Начинаем получение запроса");
         ItemRequest itemRequest = itemRequestRepository.findById(requestId)
                 .orElseThrow(() -> new NotFoundException("Запрос не найден"));
-        log.info("Получаем лист ответов для запроса {}", itemRequest);
         List<ItemDto> answers = itemRepository.findByRequestId(requestId).stream().map(ItemDtoMapper::mapToDto).toList();
         ItemRequestListAnswerDto request = RequestDtoMapper.mapToRequestWithList(itemRequest, answers);
-        log.info("Получение запроса завершено {}", request);
+        log.atDebug()
+                .addKeyValue("requestId", requestId)
+                .addKeyValue("answers", answers.size())
+                .log("Получение запроса завершено");
         return request;
     }
 
-    private List<ItemDto> mapAnswers(List<Item> items) {
-        return items.stream().map(ItemDtoMapper::mapToDto).toList();
+    private Map<Long, List<ItemDto>> findAnswers(List<ItemRequest> requests) {
+        if (requests.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> requestIds = requests.stream().map(ItemRequest::getId).toList();
+        return itemRepository.findByRequestIdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId(),
+                        Collectors.mapping(ItemDtoMapper::mapToDto, Collectors.toList())));
     }
 }
@@ -6,6 +6,7 @@ import ru.practicum.shareit.user.dto.NewUserRequest;
 import ru.practicum.shareit.user.dto.UpdateUserRequest;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.model.UserView;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class UserDtoMapper {
@@ -21,6 +22,25 @@ public final class UserDtoMapper {
                 .build();
     }
 
+    public static UserDto mapToUserDto(UserView view) {
+        return UserDto.builder()
+                .id(view.id())
+                .name(view.name())
+                .email(view.email())
+                .build();
+    }
+
+    public static UserDto mapToUserDto(Long id, String name, String email) {
+        if (id == null) {
+            return null;
+        }
+        return UserDto.builder()
+                .id(id)
+                .name(name)
+                .email(email)
+                .build();
+    }
+
     public static User mapToUser(UserDto userDto) {
         if (userDto == null) {
             return null;
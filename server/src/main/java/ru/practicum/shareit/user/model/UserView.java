@@ -0,0 +1,7 @@
+package ru.practicum.shareit.user.model;
+
+/**
+ * Строка списка пользователей, читается проекцией без загрузки сущности в контекст.
+ */
+public record UserView(Long id, String name, String email) {
+}
@@ -1,7 +1,15 @@
 package ru.practicum.shareit.user.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.model.UserView;
+
+import java.util.List;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    @Query("select new ru.practicum.shareit.user.model.UserView(u.id, u.name, u.email) " +
+            "from User u order by u.id")
+    List<UserView> findAllViews();
 }
@@ -8,6 +8,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.DuplicatedDataException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemViewCache;
+import ru.practicum.shareit.logging.SamplingFilter;
 import ru.practicum.shareit.user.dto.NewUserRequest;
 import ru.practicum.shareit.user.dto.UpdateUserRequest;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -23,11 +26,13 @@ import java.util.List;
 @Setter
 public class UserServiceImpl implements UserService {
     UserRepository userRepository;
+    ItemRepository itemRepository;
+    ItemViewCache itemViewCache;
 
     @Override
     public List<UserDto> getAll() {
-        log.info("Начинаем получение всех пользователей");
-        return userRepository.findAll().stream()
+        log.atInfo().addMarker(SamplingFilter.SAMPLED).log("Начинаем получение всех пользователей");
+        return userRepository.findAllViews().stream()
                 .map(UserDtoMapper::mapToUserDto)
                 .toList();
     }
@@ -35,43 +40,49 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional(rollbackFor = DuplicatedDataException.class)
     public UserDto add(NewUserRequest request) throws DuplicatedDataException {
-        log.info("Началось создание пользователя {}", request);
+        log.atInfo().log("Началось создание пользователя");
         User user = UserDtoMapper.mapToUserAdd(request);
         user = userRepository.save(user);
-        log.info("Пользователю присвоен id {}", user.getId());
+        log.atInfo().addKeyValue("userId", user.getId()).log("Пользователь сохранён");
         UserDto userDto = UserDtoMapper.mapToUserDto(user);
-        log.info("Создание пользователя {} завершено", userDto);
+        log.atInfo().addKeyValue("userId", userDto.getId()).log("Создание пользователя завершено");
         return userDto;
     }
 
     @Override
     @Transactional(rollbackFor = DuplicatedDataException.class)
     public UserDto update(long id, UpdateUserRequest request) throws DuplicatedDataException {
-        log.info("Началось обновление пользователя id {}", id);
+        log.atInfo().addKeyValue("userId", id).log("Началось обновление пользователя");
         User oldUser = UserDtoMapper.mapToUser(getById(id));
         User updateUser = UserDtoMapper.mapToUserUpdate(oldUser, request);
         updateUser = userRepository.save(updateUser);
-        log.info("Обновление пользователя {} завершено", updateUser);
+        if (request.hasName() || request.hasEmail()) {
+            // имя и почта входят в собранные представления вещей через владельца, бронирования и отзывы
+            itemViewCache.invalidate(itemRepository.findIdsReferencingUser(id), "user");
+        }
+        log.atInfo().addKeyValue("userId", updateUser.getId()).log("Обновление пользователя завершено");
         return UserDtoMapper.mapToUserDto(updateUser);
     }
 
     @Override
     public UserDto getById(long id) {
-        log.info("Получаем пользователя с id {}", id);
+        log.atInfo().addMarker(SamplingFilter.SAMPLED).addKeyValue("userId", id).log("Получаем пользователя");
         User user = userRepository.findById(id).orElseThrow(() -> new NotFoundException("Пользователь не найден"));
-        log.info("Возвращаем пользователя {}", user);
         return UserDtoMapper.mapToUserDto(user);
     }
 
     @Override
     @Transactional
     public void deleteUser(long id) {
-        log.info("Началось удаление пользователя id = {}", id);
-        User user = userRepository.findById(id).orElseThrow(() -> new NotFoundException("Пользователь не найден"));
-        log.error("Пользователь не был удален");
-        if (user != null) {
-            userRepository.delete(user);
-            log.info("Удаление пользователя id = {} прошло успешно", id);
-        }
+        log.atInfo().addKeyValue("userId", id).log("Началось удаление пользователя");
+        User user = userRepository.findById(id).orElseThrow(() -> {
+            log.atError().addKeyValue("userId", id).log("Пользователь не был удален: не найден");
+            return new NotFoundException("Пользователь не найден");
+        });
+        // вещи, бронирования и отзывы пользователя удаляются каскадно и не должны остаться в кэше
+        List<Long> affectedItemIds = itemRepository.findIdsReferencingUser(id);
+        userRepository.delete(user);
+        itemViewCache.invalidate(affectedItemIds, "user");
+        log.atInfo().addKeyValue("userId", id).log("Удаление пользователя прошло успешно");
     }
 }
@@ -0,0 +1,55 @@
+-- id выдают последовательности блоками по 50 (pooled-lo), что позволяет пакетную вставку
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+id BIGINT PRIMARY KEY,
+name varchar,
+email varchar UNIQUE NOT NULL
+);
+
+CREATE SEQUENCE request_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE request (
+id BIGINT PRIMARY KEY,
+description varchar NOT NULL,
+requestor_id BIGINT REFERENCES users (id),
+created TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
+
+CREATE SEQUENCE items_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE items (
+id BIGINT PRIMARY KEY,
+name varchar NOT NULL,
+description varchar NOT NULL,
+available boolean,
+owner_id BIGINT REFERENCES users (id),
+request_id BIGINT REFERENCES request (id),
+version BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE SEQUENCE bookings_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE bookings (
+id BIGINT PRIMARY KEY,
+start_time TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+end_time TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+item_id BIGINT REFERENCES items (id) ON DELETE CASCADE,
+booker_id BIGINT REFERENCES users (id) ON DELETE CASCADE,
+status varchar NOT NULL,
+version BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE SEQUENCE comments_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE comments (
+id BIGINT PRIMARY KEY,
+text varchar NOT NULL,
+item_id BIGINT REFERENCES items (id) ON DELETE CASCADE,
+author_id BIGINT REFERENCES users (id) ON DELETE CASCADE,
+created TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
+
+CREATE INDEX bookings_booker_start_idx ON bookings (booker_id, start_time);
+
+CREATE INDEX bookings_item_status_start_idx ON bookings (item_id, status, start_time);
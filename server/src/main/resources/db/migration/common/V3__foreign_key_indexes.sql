@@ -0,0 +1,12 @@
+-- индексы на внешние ключи: выборки по владельцу, запросу, автору и вещи,
+-- а также каскадное удаление пользователей и вещей не сканируют таблицы целиком;
+-- bookings.item_id и bookings.booker_id уже ведут составные индексы из V1
+CREATE INDEX items_owner_idx ON items (owner_id);
+
+CREATE INDEX items_request_idx ON items (request_id);
+
+CREATE INDEX request_requestor_idx ON request (requestor_id);
+
+CREATE INDEX comments_item_idx ON comments (item_id);
+
+CREATE INDEX comments_author_idx ON comments (author_id);
@@ -0,0 +1,21 @@
+-- id выдаёт приложение из последовательностей: IDENTITY снимается, а последовательности
+-- продолжают нумерацию после уже выданных id (на пустой таблице начинают с 1)
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY;
+
+ALTER TABLE request ALTER COLUMN id DROP IDENTITY;
+
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY;
+
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY;
+
+ALTER TABLE comments ALTER COLUMN id DROP IDENTITY;
+
+ALTER SEQUENCE users_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM users);
+
+ALTER SEQUENCE request_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM request);
+
+ALTER SEQUENCE items_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM items);
+
+ALTER SEQUENCE bookings_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM bookings);
+
+ALTER SEQUENCE comments_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM comments);
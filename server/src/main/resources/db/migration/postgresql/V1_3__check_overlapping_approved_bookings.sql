@@ -0,0 +1,21 @@
+-- до V2 пересечения подтверждённых бронирований ничем не запрещались; если такие пары есть,
+-- ограничение bookings_approved_no_overlap добавить нельзя, поэтому миграция останавливается
+-- и перечисляет их, чтобы лишние бронирования были отклонены вручную
+DO $$
+DECLARE
+    overlaps TEXT;
+BEGIN
+    SELECT string_agg(format('item_id=%s: id=%s и id=%s', a.item_id, a.id, b.id), '; '
+                      ORDER BY a.item_id, a.id, b.id)
+    INTO overlaps
+    FROM bookings a
+    JOIN bookings b ON b.item_id = a.item_id AND b.id > a.id
+        AND a.start_time < b.end_time AND b.start_time < a.end_time
+    WHERE a.status = 'APPROVED' AND b.status = 'APPROVED';
+
+    IF overlaps IS NOT NULL THEN
+        RAISE EXCEPTION 'Подтверждённые бронирования пересекаются по времени, отклоните лишние и перезапустите миграцию: %',
+            overlaps;
+    END IF;
+END
+$$;
@@ -0,0 +1,14 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX items_name_trgm_idx ON items USING gin (upper(name) gin_trgm_ops)
+WHERE available = true;
+
+CREATE INDEX items_description_trgm_idx ON items USING gin (upper(description) gin_trgm_ops)
+WHERE available = true;
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- подтверждённые бронирования одной вещи не могут пересекаться по времени
+ALTER TABLE bookings ADD CONSTRAINT bookings_approved_no_overlap
+    EXCLUDE USING gist (item_id WITH =, tsrange(start_time, end_time) WITH &&)
+    WHERE (status = 'APPROVED');
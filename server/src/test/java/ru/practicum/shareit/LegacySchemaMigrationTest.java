@@ -0,0 +1,98 @@
+package ru.practicum.shareit;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+
+/**
+ * База, созданная прежним schema.sql (id через IDENTITY, без последовательностей и версий),
+ * перед запуском Flyway заполняется старой схемой и данными и затем мигрирует с настройками приложения.
+ */
+@DataJpaTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class LegacySchemaMigrationTest {
+    final TestEntityManager manager;
+    final JdbcTemplate jdbcTemplate;
+    final BookingRepository bookingRepository;
+
+    @DisplayName("Старая схема принимается за версию 1 и доводится миграциями до текущей")
+    @Test
+    void legacySchemaIsBaselinedAndUpgraded() {
+        List<String> applied = jdbcTemplate.queryForList(
+                "SELECT \"version\" || ':' || \"type\" FROM \"flyway_schema_history\""
+                        + " WHERE \"version\" IS NOT NULL ORDER BY \"installed_rank\"",
+                String.class);
+
+        assertThat(applied, equalTo(List.of("1:BASELINE", "1.1:SQL", "1.2:SQL", "3:SQL")));
+    }
+
+    @DisplayName("После миграции новые записи получают id после существующих, а версии работают")
+    @Test
+    void entitiesWorkOnUpgradedLegacySchema() {
+        Item legacyItem = manager.find(Item.class, 1L);
+        User booker = manager.find(User.class, 2L);
+
+        User user = manager.persistAndFlush(User.builder().name("new").email("new@mail.ru").build());
+        Booking booking = manager.persistAndFlush(Booking.builder()
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .item(legacyItem)
+                .booker(booker)
+                .status(Status.WAITING)
+                .build());
+        Comment comment = manager.persistAndFlush(Comment.builder()
+                .text("новый отзыв")
+                .item(legacyItem)
+                .author(booker)
+                .created(Instant.now())
+                .build());
+        legacyItem.setDescription("ударная, с кейсом");
+        manager.flush();
+
+        assertThat(user.getId(), greaterThan(2L));
+        assertThat(booking.getId(), greaterThan(1L));
+        assertThat(comment.getId(), greaterThan(1L));
+        assertThat(legacyItem.getVersion(), equalTo(1L));
+        assertThat(bookingRepository.updateStatusIfCurrent(1L, Status.WAITING, Status.APPROVED), equalTo(1));
+    }
+
+    @TestConfiguration
+    static class LegacySchemaSeed {
+
+        @Bean
+        FlywayMigrationStrategy legacySchemaBeforeMigration() {
+            return flyway -> {
+                new ResourceDatabasePopulator(new ClassPathResource("db/legacy/schema.sql"),
+                        new ClassPathResource("db/legacy/data.sql"))
+                        .execute(flyway.getConfiguration().getDataSource());
+                flyway.migrate();
+            };
+        }
+    }
+}
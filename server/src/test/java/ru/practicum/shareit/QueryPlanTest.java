@@ -0,0 +1,191 @@
+package ru.practicum.shareit;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+
+/**
+ * Планы запросов H2 для выборок по внешним ключам: ни одна не должна читать таблицу целиком.
+ * Поиск по подстроке сюда не входит — в Postgres его обслуживают индексы pg_trgm.
+ * H2 сам индексирует внешние ключи, а Postgres нет, поэтому объявленные индексы проверяются по схеме отдельно.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ru.practicum.shareit.QueryPlanTest$CapturingInspector")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class QueryPlanTest {
+    static final List<String> CAPTURED = new CopyOnWriteArrayList<>();
+
+    final TestEntityManager manager;
+    final JdbcTemplate jdbcTemplate;
+    final ItemRepository itemRepository;
+    final ItemRequestRepository itemRequestRepository;
+    final BookingRepository bookingRepository;
+    final CommentRepository commentRepository;
+    List<User> users;
+    List<Item> items;
+    List<ItemRequest> requests;
+
+    @BeforeEach
+    void seed() {
+        users = new ArrayList<>();
+        items = new ArrayList<>();
+        requests = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int u = 0; u < 20; u++) {
+            User user = manager.persist(User.builder().name("user" + u).email("plan" + u + "@mail.ru").build());
+            users.add(user);
+            requests.add(manager.persist(ItemRequest.builder()
+                    .description("нужна вещь " + u)
+                    .requestor(user)
+                    .created(now.minusDays(u))
+                    .build()));
+        }
+        for (int i = 0; i < 100; i++) {
+            items.add(manager.persist(Item.builder()
+                    .name("вещь " + i)
+                    .description("описание " + i)
+                    .available(true)
+                    .owner(users.get(i % users.size()))
+                    .request(i % 2 == 0 ? requests.get((i + 1) % requests.size()) : null)
+                    .build()));
+        }
+        for (int b = 0; b < 400; b++) {
+            Item item = items.get(b % items.size());
+            User booker = users.get((b + 1) % users.size());
+            manager.persist(Booking.builder()
+                    .start(now.plusDays(b % 30 - 15))
+                    .end(now.plusDays(b % 30 - 14))
+                    .item(item)
+                    .booker(booker)
+                    .status(Status.values()[b % Status.values().length])
+                    .build());
+            manager.persist(Comment.builder()
+                    .text("отзыв " + b)
+                    .item(item)
+                    .author(booker)
+                    .created(Instant.now())
+                    .build());
+        }
+        manager.flush();
+        manager.clear();
+    }
+
+    @DisplayName("Выборки репозиториев по внешним ключам используют индексы")
+    @Test
+    void foreignKeyLookupsUseIndexes() {
+        User user = users.getFirst();
+        Item item = items.getFirst();
+        LocalDateTime now = LocalDateTime.now();
+        PageRequest page = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start"));
+        Map<String, Runnable> lookups = new LinkedHashMap<>();
+        lookups.put("findByOwner", () -> itemRepository.findByOwner(user));
+        lookups.put("findByRequestId", () -> itemRepository.findByRequestId(requests.get(1).getId()));
+        lookups.put("findByRequestIdIn", () -> itemRepository.findByRequestIdIn(
+                List.of(requests.get(1).getId(), requests.get(3).getId())));
+        lookups.put("findByRequestorId", () -> itemRequestRepository.findByRequestorId(user.getId()));
+        lookups.put("findByBooker_id", () -> bookingRepository.findByBooker_id(user.getId(), page));
+        lookups.put("findByBooker_idAndStartBeforeAndEndAfter",
+                () -> bookingRepository.findByBooker_idAndStartBeforeAndEndAfter(user.getId(), now, now, page));
+        lookups.put("findByBooker_idAndStatus",
+                () -> bookingRepository.findByBooker_idAndStatus(user.getId(), Status.WAITING, page));
+        lookups.put("findByItem_Owner_id", () -> bookingRepository.findByItem_Owner_id(user.getId(), page));
+        lookups.put("findByItem_Owner_idAndStartAfter",
+                () -> bookingRepository.findByItem_Owner_idAndStartAfter(user.getId(), now, page));
+        lookups.put("findByItem_Owner_idAndStatus",
+                () -> bookingRepository.findByItem_Owner_idAndStatus(user.getId(), Status.WAITING, page));
+        lookups.put("findByItem_idAndStatus",
+                () -> bookingRepository.findByItem_idAndStatus(item.getId(), Status.WAITING));
+        lookups.put("findByItem_idInAndStatusOrderByStartAsc",
+                () -> bookingRepository.findByItem_idInAndStatusOrderByStartAsc(
+                        List.of(item.getId(), items.get(1).getId()), Status.APPROVED));
+        lookups.put("findByItem_idInAndStatusAndStartBeforeAndEndAfter",
+                () -> bookingRepository.findByItem_idInAndStatusAndStartBeforeAndEndAfter(
+                        List.of(item.getId(), items.get(1).getId()), Status.APPROVED, now.plusDays(1), now));
+        lookups.put("existsByItem_idAndStatusAndStartBeforeAndEndAfter",
+                () -> bookingRepository.existsByItem_idAndStatusAndStartBeforeAndEndAfter(
+                        item.getId(), Status.APPROVED, now.plusDays(1), now));
+        lookups.put("findByItem_id", () -> commentRepository.findByItem_id(item.getId()));
+        lookups.put("findByItem_idIn", () -> commentRepository.findByItem_idIn(
+                List.of(item.getId(), items.get(1).getId())));
+
+        List<String> scans = new ArrayList<>();
+        lookups.forEach((name, lookup) -> {
+            manager.clear();
+            CAPTURED.clear();
+            lookup.run();
+            CAPTURED.stream()
+                    .filter(sql -> sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select"))
+                    .map(this::explain)
+                    .filter(plan -> plan.contains(".tableScan"))
+                    .forEach(plan -> scans.add(name + ":\n" + plan));
+        });
+
+        assertThat(scans, empty());
+    }
+
+    @DisplayName("Каждый внешний ключ ведёт объявленный в миграциях индекс")
+    @Test
+    void foreignKeysHaveDeclaredIndexes() {
+        List<String> unindexed = jdbcTemplate.queryForList("""
+                SELECT k.TABLE_NAME || '.' || k.COLUMN_NAME
+                FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS c
+                JOIN INFORMATION_SCHEMA.KEY_COLUMN_USAGE k
+                    ON k.CONSTRAINT_SCHEMA = c.CONSTRAINT_SCHEMA AND k.CONSTRAINT_NAME = c.CONSTRAINT_NAME
+                WHERE c.CONSTRAINT_TYPE = 'FOREIGN KEY'
+                AND NOT EXISTS (SELECT 1 FROM INFORMATION_SCHEMA.INDEX_COLUMNS i
+                    WHERE i.TABLE_SCHEMA = k.TABLE_SCHEMA AND i.TABLE_NAME = k.TABLE_NAME
+                    AND i.COLUMN_NAME = k.COLUMN_NAME AND i.ORDINAL_POSITION = 1
+                    AND i.INDEX_NAME NOT LIKE 'CONSTRAINT_INDEX%')
+                """, String.class);
+
+        assertThat(unindexed, empty());
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.query(connection -> connection.prepareStatement("EXPLAIN " + sql), resultSet -> {
+            resultSet.next();
+            return resultSet.getString(1);
+        });
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            CAPTURED.add(sql);
+            return sql;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package ru.practicum.shareit.booking;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,10 +11,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.controller.BookingController;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingStatusResult;
 import ru.practicum.shareit.booking.dto.NewBookingRequest;
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.model.Status;
@@ -24,6 +27,7 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -139,6 +143,37 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$.status", is(updateBooking.getStatus().toString())));
     }
 
+    @DisplayName("Пакетное обновление статуса")
+    @Test
+    void updateStatusesBookingTest() throws Exception {
+        List<BookingStatusResult> results = List.of(
+                BookingStatusResult.builder()
+                        .bookingId(1L)
+                        .result(BookingStatusResult.Result.UPDATED)
+                        .booking(bookingDto)
+                        .build(),
+                BookingStatusResult.builder()
+                        .bookingId(2L)
+                        .result(BookingStatusResult.Result.NO_ACCESS)
+                        .error("Отказано в доступе к бронированию")
+                        .build());
+        when(bookingService.updateStatuses(2L, List.of(1L, 2L), true)).thenReturn(results);
+
+        mockMvc.perform(patch("/bookings")
+                        .header("X-Sharer-User-Id", 2L)
+                        .param("approved", "true")
+                        .content(mapper.writeValueAsString(List.of(1L, 2L)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].bookingId", is(1L), Long.class))
+                .andExpect(jsonPath("$[0].result", is("UPDATED")))
+                .andExpect(jsonPath("$[0].booking.id", is(bookingDto.getId()), Long.class))
+                .andExpect(jsonPath("$[1].result", is("NO_ACCESS")))
+                .andExpect(jsonPath("$[1].error", is("Отказано в доступе к бронированию")));
+    }
+
     @DisplayName("Получение по id")
     @Test
     void getBookingByIdTest() throws Exception {
@@ -160,7 +195,7 @@ public class BookingControllerTest {
     @DisplayName("Получение по id владельца вещи")
     @Test
     void findByOwnerIdTest() throws Exception {
-        when(bookingService.findByOwnerId(any(Long.class), any(State.class))).thenReturn(bookings);
+        when(bookingService.findByOwnerId(1L, State.ALL, 0, null, null, null)).thenReturn(bookings);
 
         mockMvc.perform(get("/bookings/owner")
                         .header("X-Sharer-User-Id", 1L)
@@ -180,7 +215,7 @@ public class BookingControllerTest {
     @DisplayName("Получение по id booker")
     @Test
     void findByBookerIdTest() throws Exception {
-        when(bookingService.findByBookerId(2L, State.ALL)).thenReturn(bookings);
+        when(bookingService.findByBookerId(2L, State.ALL, 0, null, null, null)).thenReturn(bookings);
 
         mockMvc.perform(get("/bookings")
                         .header("X-Sharer-User-Id", 2L)
@@ -217,7 +252,7 @@ public class BookingControllerTest {
     void findNonExistentUser() throws Exception {
         long userId = 999L;
 
-        when(bookingService.findByBookerId(userId, State.ALL))
+        when(bookingService.findByBookerId(userId, State.ALL, 0, null, null, null))
                 .thenThrow(new NotFoundException("Booking not found"));
 
         mockMvc.perform(get("/bookings")
@@ -242,4 +277,33 @@ public class BookingControllerTest {
                 .andExpect(content().string(containsString("Access denied")));
     }
 
+    @DisplayName("Нарушение ограничения на пересечение подтверждённых бронирований")
+    @Test
+    void approvedOverlapConstraintTest() throws Exception {
+        when(bookingService.updateStatus(1L, 1L, true))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new ConstraintViolationException("conflicting key value violates exclusion constraint",
+                                new SQLException("exclusion violation", "23P01"), "bookings_approved_no_overlap")));
+
+        mockMvc.perform(patch("/bookings/{bookingId}", 1L)
+                        .param("approved", "true")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.reason", is("Предмет уже забронирован на указанные даты")));
+    }
+
+    @DisplayName("Прочие нарушения ограничений базы не выдаются за конфликт бронирования")
+    @Test
+    void otherIntegrityViolationTest() throws Exception {
+        when(bookingService.updateStatus(1L, 1L, true))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new ConstraintViolationException("null value in column \"status\"",
+                                new SQLException("not-null violation", "23502"), "status")));
+
+        mockMvc.perform(patch("/bookings/{bookingId}", 1L)
+                        .param("approved", "true")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isInternalServerError());
+    }
+
 }
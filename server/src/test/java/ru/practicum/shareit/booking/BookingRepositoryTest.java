@@ -10,16 +10,27 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.OffsetPageRequest;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -68,8 +79,188 @@ public class BookingRepositoryTest {
     @DisplayName("Получение бронирования по id забронировавшего пользователя")
     @Test
     void getByBookerId() {
-        List<Booking> bookingBooker = bookingRepository.findByBooker_id(userBooker.getId());
+        List<Booking> bookingBooker = bookingRepository.findByBooker_id(userBooker.getId(), PageRequest.of(0, 10));
 
         assertThat(bookingBooker.getFirst().getBooker(), equalTo(userBooker));
     }
+
+    @DisplayName("Страница с from, не кратным size, начинается ровно со строки from")
+    @Test
+    void getByBookerIdWithUnalignedOffset() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        List<Booking> future = IntStream.range(0, 5)
+                .mapToObj(i -> manager.persist(Booking.builder()
+                        .start(start.plusDays(i))
+                        .end(start.plusDays(i).plusHours(1))
+                        .item(itemForBooking)
+                        .booker(userBooker)
+                        .status(Status.WAITING)
+                        .build()))
+                .toList();
+        manager.flush();
+
+        List<Booking> bookings = bookingRepository.findByBooker_id(userBooker.getId(),
+                OffsetPageRequest.of(3, 2, Sort.by(Sort.Direction.DESC, "start")));
+
+        // по убыванию start: future[4], future[3], future[2], future[1], future[0], booking
+        assertThat(bookings, equalTo(List.of(future.get(1), future.get(0))));
+    }
+
+    @DisplayName("Страница после курсора (start, id) продолжает список и при совпадающем start")
+    @Test
+    void getByBookerIdAfterCursor() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        List<Booking> future = IntStream.of(0, 1, 1, 2)
+                .mapToObj(day -> manager.persist(Booking.builder()
+                        .start(start.plusDays(day))
+                        .end(start.plusDays(day).plusHours(1))
+                        .item(itemForBooking)
+                        .booker(userBooker)
+                        .status(Status.WAITING)
+                        .build()))
+                .toList();
+        manager.flush();
+        Sort sort = Sort.by(Sort.Direction.DESC, "start", "id");
+        // по убыванию (start, id): future[3], future[2], future[1], future[0], booking; курсор стоит на future[2]
+        KeysetScrollPosition after = ScrollPosition.forward(Map.of("start", future.get(2).getStart(),
+                "id", future.get(2).getId()));
+
+        Window<Booking> page = bookingRepository.findByBooker_id(userBooker.getId(), after, Limit.of(2), sort);
+        Window<Booking> rest = bookingRepository.findByBooker_id(userBooker.getId(), after, Limit.unlimited(), sort);
+
+        assertThat(page.getContent(), equalTo(List.of(future.get(1), future.get(0))));
+        assertThat(page.hasNext(), equalTo(true));
+        assertThat(rest.getContent(), equalTo(List.of(future.get(1), future.get(0), booking)));
+    }
+
+    @DisplayName("Без size возвращаются все бронирования пользователя")
+    @Test
+    void getByBookerIdUnpaged() {
+        Booking past = manager.persist(Booking.builder()
+                .start(LocalDateTime.now().minusDays(2))
+                .end(LocalDateTime.now().minusDays(1))
+                .item(itemForBooking)
+                .booker(userBooker)
+                .status(Status.APPROVED)
+                .build());
+        manager.flush();
+
+        List<Booking> bookings = bookingRepository.findByBooker_id(userBooker.getId(),
+                Pageable.unpaged(Sort.by(Sort.Direction.DESC, "start", "id")));
+
+        assertThat(bookings, equalTo(List.of(booking, past)));
+    }
+
+    @DisplayName("Получение будущих и ожидающих бронирований владельца вещи")
+    @Test
+    void getByOwnerIdAndState() {
+        Booking future = manager.persist(Booking.builder()
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .item(itemForBooking)
+                .booker(userBooker)
+                .status(Status.APPROVED)
+                .build());
+        manager.flush();
+        PageRequest page = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start"));
+
+        List<Booking> futureBookings = bookingRepository.findByItem_Owner_idAndStartAfter(owner.getId(),
+                LocalDateTime.now(), page);
+        List<Booking> waitingBookings = bookingRepository.findByItem_Owner_idAndStatus(owner.getId(),
+                Status.WAITING, page);
+
+        assertThat(futureBookings, equalTo(List.of(future)));
+        assertThat(waitingBookings, equalTo(List.of(booking)));
+    }
+
+    @DisplayName("Поиск пересечения с подтверждёнными бронированиями вещи")
+    @Test
+    void existsApprovedOverlap() {
+        LocalDateTime start = LocalDateTime.now().plusDays(10).truncatedTo(ChronoUnit.SECONDS);
+        manager.persist(Booking.builder()
+                .start(start)
+                .end(start.plusDays(2))
+                .item(itemForBooking)
+                .booker(userBooker)
+                .status(Status.APPROVED)
+                .build());
+        manager.flush();
+
+        boolean overlaps = bookingRepository.existsByItem_idAndStatusAndStartBeforeAndEndAfter(
+                itemForBooking.getId(), Status.APPROVED, start.plusDays(3), start.plusDays(1));
+        boolean adjacent = bookingRepository.existsByItem_idAndStatusAndStartBeforeAndEndAfter(
+                itemForBooking.getId(), Status.APPROVED, start.plusDays(4), start.plusDays(2));
+
+        assertThat(overlaps, equalTo(true));
+        assertThat(adjacent, equalTo(false));
+    }
+
+    @DisplayName("Подтверждённые бронирования вещей выбираются только в пределах окна")
+    @Test
+    void findApprovedInWindow() {
+        LocalDateTime start = LocalDateTime.now().plusDays(10).truncatedTo(ChronoUnit.SECONDS);
+        manager.persist(Booking.builder()
+                .start(start.minusDays(5))
+                .end(start.minusDays(4))
+                .item(itemForBooking)
+                .booker(userBooker)
+                .status(Status.APPROVED)
+                .build());
+        Booking inWindow = manager.persist(Booking.builder()
+                .start(start.minusDays(1))
+                .end(start.plusDays(1))
+                .item(itemForBooking)
+                .booker(userBooker)
+                .status(Status.APPROVED)
+                .build());
+        manager.flush();
+
+        List<Booking> taken = bookingRepository.findByItem_idInAndStatusAndStartBeforeAndEndAfter(
+                List.of(itemForBooking.getId()), Status.APPROVED, start.plusDays(3), start);
+
+        assertThat(taken, equalTo(List.of(inWindow)));
+    }
+
+    @DisplayName("Ожидающие бронирования вещей возвращаются по возрастанию start независимо от порядка вставки")
+    @Test
+    void findWaitingOrderedByStart() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        List<Booking> inserted = IntStream.of(3, 1, 2)
+                .mapToObj(day -> manager.persist(Booking.builder()
+                        .start(start.plusDays(day))
+                        .end(start.plusDays(day).plusHours(1))
+                        .item(itemForBooking)
+                        .booker(userBooker)
+                        .status(Status.WAITING)
+                        .build()))
+                .toList();
+        manager.flush();
+
+        List<Booking> waiting = bookingRepository.findByItem_idInAndStatusOrderByStartAsc(
+                List.of(itemForBooking.getId()), Status.WAITING);
+
+        assertThat(waiting, equalTo(List.of(booking, inserted.get(1), inserted.get(2), inserted.get(0))));
+    }
+
+    @DisplayName("Пакетное изменение статуса только у ожидающих бронирований")
+    @Test
+    void updateStatusesIfCurrent() {
+        Booking approved = manager.persist(Booking.builder()
+                .start(LocalDateTime.now())
+                .end(LocalDateTime.now())
+                .item(itemForBooking)
+                .booker(userBooker)
+                .status(Status.APPROVED)
+                .build());
+        manager.flush();
+
+        int updated = bookingRepository.updateStatusesIfCurrent(List.of(booking.getId(), approved.getId()),
+                Status.WAITING, Status.REJECTED);
+
+        assertThat(updated, equalTo(1));
+        assertThat(bookingRepository.findByIdIn(List.of(booking.getId(), approved.getId())).stream()
+                .map(Booking::getStatus)
+                .sorted()
+                .toList(), equalTo(List.of(Status.APPROVED, Status.REJECTED)));
+    }
 }
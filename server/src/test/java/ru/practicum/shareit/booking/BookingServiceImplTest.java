@@ -8,19 +8,29 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingStatusResult;
 import ru.practicum.shareit.booking.dto.NewBookingRequest;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.OffsetPageRequest;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.exception.BookingStatusConflictException;
 import ru.practicum.shareit.exception.NoAccessException;
 import ru.practicum.shareit.exception.NotAvailableItemException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemViewCache;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
@@ -30,6 +40,7 @@ import static org.mockito.Mockito.*;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @ExtendWith(MockitoExtension.class)
@@ -45,12 +56,15 @@ public class BookingServiceImplTest {
     private ItemRepository itemRepository;
     @Mock
     private BookingRepository bookingRepository;
+    @Mock
+    private ItemViewCache itemViewCache;
 
     final long bookerId = 1L;
     final long itemId = 1L;
     final long bookingId = 1L;
     final long ownerId = 2L;
     final State state = State.ALL;
+    final OffsetPageRequest page = OffsetPageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start", "id"));
     final NewBookingRequest request = NewBookingRequest.builder()
             .itemId(itemId)
             .start(LocalDateTime.now())
@@ -92,6 +106,7 @@ public class BookingServiceImplTest {
             .item(item)
             .start(request.getStart())
             .end(request.getEnd())
+            .status(Status.WAITING)
             .build();
     final Booking booking2 = Booking.builder()
             .id(2L)
@@ -119,7 +134,7 @@ public class BookingServiceImplTest {
     @Test
     void testAddBookingSuccess() {
         when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(itemRepository.findWithLockById(itemId)).thenReturn(Optional.of(item));
         when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
 
         BookingDto result = bookingService.add(request, bookerId);
@@ -128,8 +143,9 @@ public class BookingServiceImplTest {
         assertEquals(booking.getStart(), result.getStart());
         assertEquals(booking.getEnd(), result.getEnd());
         verify(userRepository).findById(bookerId);
-        verify(itemRepository).findById(itemId);
+        verify(itemRepository).findWithLockById(itemId);
         verify(bookingRepository).save(any(Booking.class));
+        verify(itemViewCache).invalidate(itemId, "booking");
     }
 
     @DisplayName("Бронирование вещи с available false")
@@ -142,9 +158,21 @@ public class BookingServiceImplTest {
                 .build();
 
         when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(itemRepository.findWithLockById(itemId)).thenReturn(Optional.of(item));
+
+        assertThrows(NotAvailableItemException.class, () -> bookingService.add(request, bookerId));
+    }
+
+    @DisplayName("Бронирование вещи на даты, пересекающиеся с подтверждённым бронированием")
+    @Test
+    void testAddOverlapsApprovedBooking() {
+        when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
+        when(itemRepository.findWithLockById(itemId)).thenReturn(Optional.of(item));
+        when(bookingRepository.existsByItem_idAndStatusAndStartBeforeAndEndAfter(itemId, Status.APPROVED,
+                request.getEnd(), request.getStart())).thenReturn(true);
 
         assertThrows(NotAvailableItemException.class, () -> bookingService.add(request, bookerId));
+        verify(bookingRepository, never()).save(any(Booking.class));
     }
 
     @DisplayName("Бронирование вещи от несуществующего пользователя")
@@ -159,7 +187,7 @@ public class BookingServiceImplTest {
     @Test
     void testAddItemNotFound() {
         when(userRepository.findById(bookerId)).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(itemId)).thenReturn(Optional.empty());
+        when(itemRepository.findWithLockById(itemId)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> bookingService.add(request, bookerId));
     }
@@ -169,12 +197,27 @@ public class BookingServiceImplTest {
     void testUpdateStatus_Approved_Success() {
         boolean approved = true;
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
-        when(bookingRepository.save(booking)).thenReturn(booking);
+        when(itemRepository.findWithLockById(itemId)).thenReturn(Optional.of(item));
+        when(bookingRepository.updateStatusIfCurrent(bookingId, Status.WAITING, Status.APPROVED)).thenReturn(1);
 
         BookingDto result = bookingService.updateStatus(ownerId, bookingId, approved);
 
         assertEquals(Status.APPROVED, result.getStatus());
-        verify(bookingRepository).save(booking);
+        verify(itemRepository).findWithLockById(itemId);
+        verify(bookingRepository).updateStatusIfCurrent(bookingId, Status.WAITING, Status.APPROVED);
+        verify(itemViewCache).invalidate(itemId, "booking");
+    }
+
+    @DisplayName("Одобрение бронирования, пересекающегося с уже подтверждённым")
+    @Test
+    void testUpdateStatusApprovedOverlap() {
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(itemRepository.findWithLockById(itemId)).thenReturn(Optional.of(item));
+        when(bookingRepository.existsByItem_idAndStatusAndStartBeforeAndEndAfter(itemId, Status.APPROVED,
+                booking.getEnd(), booking.getStart())).thenReturn(true);
+
+        assertThrows(NotAvailableItemException.class, () -> bookingService.updateStatus(ownerId, bookingId, true));
+        verify(bookingRepository, never()).updateStatusIfCurrent(anyLong(), any(), any());
     }
 
     @DisplayName("Отклонение бронирования владельцем")
@@ -183,23 +226,44 @@ public class BookingServiceImplTest {
         boolean approved = false;
 
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
-        when(bookingRepository.save(booking)).thenReturn(booking);
+        when(bookingRepository.updateStatusIfCurrent(bookingId, Status.WAITING, Status.REJECTED)).thenReturn(1);
 
         BookingDto result = bookingService.updateStatus(ownerId, bookingId, approved);
 
         assertEquals(Status.REJECTED, result.getStatus());
-        verify(bookingRepository).save(booking);
+        verify(bookingRepository).updateStatusIfCurrent(bookingId, Status.WAITING, Status.REJECTED);
+    }
+
+    @DisplayName("Статус бронирования изменён параллельным запросом")
+    @Test
+    void testUpdateStatusConcurrentChange() {
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(itemRepository.findWithLockById(itemId)).thenReturn(Optional.of(item));
+        when(bookingRepository.updateStatusIfCurrent(bookingId, Status.WAITING, Status.APPROVED)).thenReturn(0);
+
+        assertThrows(BookingStatusConflictException.class, () -> bookingService.updateStatus(ownerId, bookingId, true));
+    }
+
+    @DisplayName("Повторное решение по уже рассмотренному бронированию")
+    @Test
+    void testUpdateStatusAlreadyDecided() {
+        booking.setStatus(Status.REJECTED);
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+
+        assertEquals(Status.REJECTED, bookingService.updateStatus(ownerId, bookingId, false).getStatus());
+        assertThrows(BookingStatusConflictException.class, () -> bookingService.updateStatus(ownerId, bookingId, true));
+        verify(bookingRepository, never()).updateStatusIfCurrent(anyLong(), any(), any());
     }
 
     @DisplayName("Ошибка доступа к статусу бронирования")
     @Test
     void testUpdateStatusNoAccess() {
-        long userId = 2L;
+        long userId = 3L;
         boolean approved = true;
 
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
 
-        assertThrows(NullPointerException.class, () -> bookingService.updateStatus(userId, bookingId, approved));
+        assertThrows(NoAccessException.class, () -> bookingService.updateStatus(userId, bookingId, approved));
     }
 
     @DisplayName("Бронирование не найдено")
@@ -212,6 +276,61 @@ public class BookingServiceImplTest {
         assertThrows(NotFoundException.class, () -> bookingService.updateStatus(ownerId, bookingId, approved));
     }
 
+    @DisplayName("Пакетное одобрение бронирований владельцем")
+    @Test
+    void testUpdateStatusesMixedResults() {
+        Booking overlapping = Booking.builder()
+                .id(4L)
+                .booker(booker)
+                .item(item)
+                .start(request.getStart().plusHours(1))
+                .end(request.getEnd().plusHours(1))
+                .status(Status.WAITING)
+                .build();
+        Booking foreign = Booking.builder()
+                .id(5L)
+                .booker(booker)
+                .item(Item.builder().id(2L).owner(booker).build())
+                .status(Status.WAITING)
+                .build();
+        List<Long> ids = List.of(bookingId, 2L, 3L, 4L, 5L, bookingId);
+        when(bookingRepository.findByIdIn(ids)).thenReturn(List.of(booking, booking2, overlapping, foreign));
+        when(bookingRepository.findByItem_idInAndStatusAndStartBeforeAndEndAfter(List.of(itemId), Status.APPROVED,
+                overlapping.getEnd(), booking.getStart())).thenReturn(List.of());
+        when(bookingRepository.updateStatusesIfCurrent(List.of(bookingId), Status.WAITING, Status.APPROVED))
+                .thenReturn(1);
+
+        List<BookingStatusResult> results = bookingService.updateStatuses(ownerId, ids, true);
+
+        assertEquals(List.of(bookingId, 2L, 3L, 4L, 5L),
+                results.stream().map(BookingStatusResult::getBookingId).toList());
+        assertEquals(List.of(BookingStatusResult.Result.UPDATED, BookingStatusResult.Result.CONFLICT,
+                        BookingStatusResult.Result.NOT_FOUND, BookingStatusResult.Result.NOT_AVAILABLE,
+                        BookingStatusResult.Result.NO_ACCESS),
+                results.stream().map(BookingStatusResult::getResult).toList());
+        assertEquals(Status.APPROVED, results.getFirst().getBooking().getStatus());
+        verify(itemRepository).findWithLockByIdInOrderByIdAsc(List.of(itemId));
+        verify(itemViewCache).invalidate(List.of(itemId), "booking");
+    }
+
+    @DisplayName("Пакетное отклонение бронирований, часть которых изменена параллельным запросом")
+    @Test
+    void testUpdateStatusesConcurrentChange() {
+        Booking another = Booking.builder()
+                .id(4L)
+                .booker(booker)
+                .item(item)
+                .status(Status.WAITING)
+                .build();
+        List<Long> ids = List.of(bookingId, 4L);
+        when(bookingRepository.findByIdIn(ids)).thenReturn(List.of(booking, another));
+        when(bookingRepository.updateStatusesIfCurrent(ids, Status.WAITING, Status.REJECTED)).thenReturn(1);
+
+        assertThrows(BookingStatusConflictException.class, () -> bookingService.updateStatuses(ownerId, ids, false));
+        verify(bookingRepository, never()).findByItem_idInAndStatusAndStartBeforeAndEndAfter(anyList(), any(), any(),
+                any());
+    }
+
     @DisplayName("Получение бронирования по id владельцем вещи")
     @Test
     void testFindByIdSuccessOwner() {
@@ -255,25 +374,25 @@ public class BookingServiceImplTest {
     @DisplayName("Получение всех бронирований забронировавшим пользователем")
     @Test
     void testFindByBookerIdSuccess() {
-        when(bookingRepository.findByBooker_id(bookerId)).thenReturn(List.of(booking, booking2));
+        when(bookingRepository.findByBooker_id(bookerId, page)).thenReturn(List.of(booking, booking2));
 
-        List<BookingDto> result = bookingService.findByBookerId(bookerId, state);
+        List<BookingDto> result = bookingService.findByBookerId(bookerId, state, 0, 10, null, null);
 
         assertEquals(2, result.size());
         assertEquals(bookingDto.getId(), result.get(0).getId());
         assertEquals(bookingDto2.getId(), result.get(1).getId());
-        verify(bookingRepository).findByBooker_id(bookerId);
+        verify(bookingRepository).findByBooker_id(bookerId, page);
     }
 
     @DisplayName("Получение пустого листа бронирований забронировавшим пользователем")
     @Test
     void testFindByBookerIdNoBookings() {
-        when(bookingRepository.findByBooker_id(bookerId)).thenReturn(List.of());
+        when(bookingRepository.findByBooker_id(bookerId, page)).thenReturn(List.of());
 
-        List<BookingDto> result = bookingService.findByBookerId(bookerId, state);
+        List<BookingDto> result = bookingService.findByBookerId(bookerId, state, 0, 10, null, null);
 
         assertTrue(result.isEmpty());
-        verify(bookingRepository).findByBooker_id(bookerId);
+        verify(bookingRepository).findByBooker_id(bookerId, page);
     }
 
     @DisplayName("Получение всех бронирований с разным статусом для забронировавшего пользователя")
@@ -285,37 +404,112 @@ public class BookingServiceImplTest {
                 .end(LocalDateTime.now().plusDays(2))
                 .status(Status.REJECTED)
                 .build();
-        when(bookingRepository.findByBooker_id(bookerId)).thenReturn(List.of(booking, booking2));
+        when(bookingRepository.findByBooker_id(bookerId, page)).thenReturn(List.of(booking, booking2));
+
+        List<BookingDto> result = bookingService.findByBookerId(bookerId, state, 0, 10, null, null);
+
+        assertEquals(2, result.size());
+        verify(bookingRepository).findByBooker_id(bookerId, page);
+    }
+
+    @DisplayName("Получение ожидающих подтверждения бронирований забронировавшим пользователем")
+    @Test
+    void testFindByBookerIdWaiting() {
+        Booking waiting = Booking.builder()
+                .id(3L)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .status(Status.WAITING)
+                .item(item)
+                .booker(booker)
+                .build();
+        OffsetPageRequest secondPage = OffsetPageRequest.of(1, 1, page.getSort());
+        when(bookingRepository.findByBooker_idAndStatus(bookerId, Status.WAITING, secondPage))
+                .thenReturn(List.of(waiting));
+
+        List<BookingDto> result = bookingService.findByBookerId(bookerId, State.WAITING, 1, 1, null, null);
+
+        assertEquals(1, result.size());
+        assertEquals(waiting.getId(), result.getFirst().getId());
+        verify(bookingRepository, never()).findByBooker_id(anyLong(), any(Pageable.class));
+    }
+
+    @DisplayName("Без size бронирования пользователя возвращаются целиком")
+    @Test
+    void testFindByBookerIdUnpaged() {
+        when(bookingRepository.findByBooker_id(bookerId, Pageable.unpaged(page.getSort())))
+                .thenReturn(List.of(booking, booking2));
 
-        List<BookingDto> result = bookingService.findByBookerId(bookerId, state);
+        List<BookingDto> result = bookingService.findByBookerId(bookerId, State.ALL, 0, null, null, null);
 
         assertEquals(2, result.size());
-        verify(bookingRepository).findByBooker_id(bookerId);
+    }
+
+    @DisplayName("Получение бронирований владельца после курсора (start, id)")
+    @Test
+    void testFindByOwnerIdAfterCursor() {
+        KeysetScrollPosition after = ScrollPosition.forward(Map.of("start", booking.getStart(), "id", bookingId));
+        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
+        when(bookingRepository.findByItem_Owner_id(ownerId, after, Limit.of(10), page.getSort()))
+                .thenReturn(Window.from(List.of(booking2), index -> ScrollPosition.offset()));
+
+        List<BookingDto> result = bookingService.findByOwnerId(ownerId, State.ALL, 0, 10, booking.getStart(), bookingId);
+
+        assertEquals(1, result.size());
+        assertEquals(booking2.getId(), result.getFirst().getId());
+        verify(bookingRepository, never()).findByItem_Owner_id(anyLong(), any(Pageable.class));
+    }
+
+    @DisplayName("Получение будущих бронирований владельцем вещи")
+    @Test
+    void testFindByOwnerIdFuture() {
+        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
+        when(bookingRepository.findByItem_Owner_idAndStartAfter(eq(ownerId), any(LocalDateTime.class), eq(page)))
+                .thenReturn(List.of(booking));
+
+        List<BookingDto> result = bookingService.findByOwnerId(ownerId, State.FUTURE, 0, 10, null, null);
+
+        assertEquals(1, result.size());
+        assertEquals(bookingId, result.getFirst().getId());
+    }
+
+    @DisplayName("Получение текущих бронирований владельцем вещи")
+    @Test
+    void testFindByOwnerIdCurrent() {
+        when(userRepository.findById(ownerId)).thenReturn(Optional.of(owner));
+        when(bookingRepository.findByItem_Owner_idAndStartBeforeAndEndAfter(eq(ownerId), any(LocalDateTime.class),
+                any(LocalDateTime.class), eq(page)))
+                .thenReturn(List.of(booking2));
+
+        List<BookingDto> result = bookingService.findByOwnerId(ownerId, State.CURRENT, 0, 10, null, null);
+
+        assertEquals(1, result.size());
+        assertEquals(booking2.getId(), result.getFirst().getId());
     }
 
     @DisplayName("Получение всех бронирований владельцем вещи")
     @Test
     void testFindByOwnerIdSuccess() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(owner));
-        when(bookingRepository.findByItemOwner_id(anyLong())).thenReturn(List.of(booking, booking2));
+        when(bookingRepository.findByItem_Owner_id(anyLong(), any(Pageable.class))).thenReturn(List.of(booking, booking2));
 
-        List<BookingDto> result = bookingService.findByOwnerId(ownerId, state);
+        List<BookingDto> result = bookingService.findByOwnerId(ownerId, state, 0, 10, null, null);
 
         assertEquals(2, result.size());
         assertEquals(bookingDto.getId(), result.get(0).getId());
         assertEquals(bookingDto2.getId(), result.get(1).getId());
-        verify(bookingRepository).findByItemOwner_id(ownerId);
+        verify(bookingRepository).findByItem_Owner_id(ownerId, page);
     }
 
     @DisplayName("Получение пустого листа бронирований владельцем вещи")
     @Test
     void testFindByOwnerIdNoBookings() {
-        when(bookingRepository.findByBooker_id(ownerId)).thenReturn(List.of());
+        when(bookingRepository.findByBooker_id(ownerId, page)).thenReturn(List.of());
 
-        List<BookingDto> result = bookingService.findByBookerId(ownerId, state);
+        List<BookingDto> result = bookingService.findByBookerId(ownerId, state, 0, 10, null, null);
 
         assertTrue(result.isEmpty());
-        verify(bookingRepository).findByBooker_id(ownerId);
+        verify(bookingRepository).findByBooker_id(ownerId, page);
     }
 
     @DisplayName("Получение всех бронирований с разным статусом для забронировавшего пользователя")
@@ -327,12 +521,12 @@ public class BookingServiceImplTest {
                 .end(LocalDateTime.now().plusDays(2))
                 .status(Status.REJECTED)
                 .build();
-        when(bookingRepository.findByBooker_id(ownerId)).thenReturn(List.of(booking, booking2));
+        when(bookingRepository.findByBooker_id(ownerId, page)).thenReturn(List.of(booking, booking2));
 
-        List<BookingDto> result = bookingService.findByBookerId(ownerId, state);
+        List<BookingDto> result = bookingService.findByBookerId(ownerId, state, 0, 10, null, null);
 
         assertEquals(2, result.size());
-        verify(bookingRepository).findByBooker_id(ownerId);
+        verify(bookingRepository).findByBooker_id(ownerId, page);
     }
 }
 
@@ -0,0 +1,142 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.BookingStatusConflictException;
+import ru.practicum.shareit.exception.NotAvailableItemException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+// регионы кэша второго уровня общие для JVM, поэтому отделяем их от остальных тестовых контекстов
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.jpa.properties.hibernate.cache.region_prefix=booking-concurrency")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BookingStatusConcurrencyTest {
+    static final int APPROVERS = 64;
+
+    final BookingService bookingService;
+    final BookingRepository bookingRepository;
+    final ItemRepository itemRepository;
+    final UserRepository userRepository;
+
+    @DisplayName("Одновременные решения владельца по одному бронированию не теряются и не перезаписываются")
+    @Test
+    void concurrentApproveAndReject() throws InterruptedException {
+        User owner = userRepository.save(User.builder().name("owner").email("concurrency-owner@mail.ru").build());
+        User booker = userRepository.save(User.builder().name("booker").email("concurrency-booker@mail.ru").build());
+        Item item = itemRepository.save(Item.builder()
+                .name("Дрель")
+                .description("Ударная дрель")
+                .available(true)
+                .owner(owner)
+                .build());
+        Booking booking = bookingRepository.save(Booking.builder()
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .item(item)
+                .booker(booker)
+                .status(Status.WAITING)
+                .build());
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<BookingDto>> decisions = new ArrayList<>();
+        try (ExecutorService approvers = Executors.newFixedThreadPool(APPROVERS)) {
+            for (int i = 0; i < APPROVERS; i++) {
+                boolean approved = i % 2 == 0;
+                decisions.add(approvers.submit(() -> {
+                    start.await();
+                    return bookingService.updateStatus(owner.getId(), booking.getId(), approved);
+                }));
+            }
+            start.countDown();
+        }
+
+        Booking saved = bookingRepository.findById(booking.getId()).orElseThrow();
+        int applied = 0;
+        int conflicts = 0;
+        for (Future<BookingDto> decision : decisions) {
+            try {
+                assertEquals(saved.getStatus(), decision.get().getStatus());
+                applied++;
+            } catch (ExecutionException e) {
+                assertInstanceOf(BookingStatusConflictException.class, e.getCause());
+                conflicts++;
+            }
+        }
+        assertEquals(APPROVERS, applied + conflicts);
+        assertEquals(1L, saved.getVersion());
+    }
+
+    @DisplayName("Из одновременно подтверждаемых пересекающихся бронирований одной вещи подтверждается одно")
+    @Test
+    void concurrentApprovalsOfOverlappingBookings() throws InterruptedException {
+        User owner = userRepository.save(User.builder().name("owner").email("overlap-owner@mail.ru").build());
+        User booker = userRepository.save(User.builder().name("booker").email("overlap-booker@mail.ru").build());
+        Item item = itemRepository.save(Item.builder()
+                .name("Лестница")
+                .description("Лестница-стремянка")
+                .available(true)
+                .owner(owner)
+                .build());
+        LocalDateTime from = LocalDateTime.now().plusDays(1);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < APPROVERS; i++) {
+            bookings.add(bookingRepository.save(Booking.builder()
+                    .start(from.plusMinutes(i))
+                    .end(from.plusDays(1).plusMinutes(i))
+                    .item(item)
+                    .booker(booker)
+                    .status(Status.WAITING)
+                    .build()));
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<BookingDto>> decisions = new ArrayList<>();
+        try (ExecutorService approvers = Executors.newFixedThreadPool(APPROVERS)) {
+            for (Booking booking : bookings) {
+                decisions.add(approvers.submit(() -> {
+                    start.await();
+                    return bookingService.updateStatus(owner.getId(), booking.getId(), true);
+                }));
+            }
+            start.countDown();
+        }
+
+        int approved = 0;
+        for (Future<BookingDto> decision : decisions) {
+            try {
+                assertEquals(Status.APPROVED, decision.get().getStatus());
+                approved++;
+            } catch (ExecutionException e) {
+                assertInstanceOf(NotAvailableItemException.class, e.getCause());
+            }
+        }
+        assertEquals(1, approved);
+        assertEquals(1, bookingRepository.findByItem_idAndStatus(item.getId(), Status.APPROVED).size());
+    }
+}
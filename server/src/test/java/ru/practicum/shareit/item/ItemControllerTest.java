@@ -9,9 +9,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import ru.practicum.shareit.config.EtagFilterConfig;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.controller.ItemController;
 import ru.practicum.shareit.item.dto.*;
@@ -25,12 +28,14 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(controllers = ItemController.class)
+@Import(EtagFilterConfig.class)
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class ItemControllerTest {
 
@@ -108,6 +113,32 @@ public class ItemControllerTest {
 
     }
 
+    @DisplayName("Повторное получение по id с совпадающим ETag возвращает 304 без тела")
+    @Test
+    void getItemByIdNotModifiedTest() throws Exception {
+        when(itemService.getById(3L)).thenReturn(itemDtoBooking);
+
+        String etag = mockMvc.perform(get("/items/3")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("W/\"")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/items/3")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        itemDtoBooking.setName("перфоратор");
+        mockMvc.perform(get("/items/3")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", is("перфоратор")));
+    }
+
     @DisplayName("Получение всех вещей пользователя")
     @Test
     void getUserItemsTest() throws Exception {
@@ -126,6 +157,22 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$[1].id", is(itemDto2.getId()), Long.class));
     }
 
+    @DisplayName("Получение вещей владельца с бронированиями и отзывами")
+    @Test
+    void getOwnerItemsTest() throws Exception {
+        List<ItemDtoBooking> ownerItems = List.of(itemDtoBooking);
+        when(itemService.getOwnerItems(any(Long.class))).thenReturn(ownerItems);
+
+        mockMvc.perform(get("/items/owner")
+                        .header("X-Sharer-User-Id", 1L)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id", is(itemDtoBooking.getId()), Long.class))
+                .andExpect(jsonPath("$[0].name", is(itemDtoBooking.getName())));
+    }
+
     @DisplayName("Поиск вещи по запросу")
     @Test
     void searchItemTest() throws Exception {
@@ -161,6 +208,23 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$.available", is(itemDto.getAvailable())));
     }
 
+    @DisplayName("Импорт нескольких вещей")
+    @Test
+    void createItemsTest() throws Exception {
+        when(itemService.addAll(eq(1L), anyList())).thenReturn(List.of(itemDto, itemDto2));
+
+        mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .content(mapper.writeValueAsString(List.of(itemDto, itemDto2)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[0].id", is(itemDto.getId()), Long.class))
+                .andExpect(jsonPath("$[1].name", is(itemDto2.getName())));
+    }
+
     @DisplayName("Обновление вещи")
     @Test
     void updateItemTest() throws Exception {
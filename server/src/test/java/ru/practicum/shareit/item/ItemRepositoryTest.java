@@ -11,18 +11,24 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemView;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.Instant;
+import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 
 @Transactional
 @ExtendWith(SpringExtension.class)
@@ -94,10 +100,28 @@ public class ItemRepositoryTest {
     @DisplayName("Поиск вещи по имени и описанию")
     @Test
     void searchItemByText() {
-        List<Item> searchItem = itemRepository.searchItem("стол");
+        List<ItemView> searchItem = itemRepository.searchItem("стол");
 
         assertThat(searchItem.size(), equalTo(1));
-        assertThat(searchItem.getFirst(), equalTo(item3));
+        assertThat(searchItem.getFirst().id(), equalTo(item3.getId()));
+        assertThat(searchItem.getFirst().ownerEmail(), equalTo(user2.getEmail()));
+        assertThat(searchItem.getFirst().requestId(), nullValue());
+    }
+
+    @DisplayName("Поиск вещи по описанию без учета регистра и только среди доступных")
+    @Test
+    void searchItemByDescriptionOnlyAvailable() {
+        manager.persistFlushFind(Item.builder()
+                .name("Перфоратор")
+                .description("Ударная дрель-перфоратор")
+                .owner(user2)
+                .available(false)
+                .build());
+
+        List<ItemView> searchItem = itemRepository.searchItem("УДАРНАЯ");
+
+        assertThat(searchItem.size(), equalTo(1));
+        assertThat(searchItem.getFirst().id(), equalTo(item.getId()));
     }
 
     @DisplayName("Добавление комментария")
@@ -113,4 +137,30 @@ public class ItemRepositoryTest {
                 equalTo(comment.getCreated().truncatedTo(ChronoUnit.SECONDS)));
     }
 
+    @DisplayName("Вещи, которыми пользователь владеет, которые бронировал или комментировал")
+    @Test
+    void findIdsReferencingUser() {
+        manager.persistAndFlush(comment);
+        manager.persistAndFlush(Booking.builder()
+                .start(LocalDateTime.now().minusDays(2))
+                .end(LocalDateTime.now().minusDays(1))
+                .item(item3)
+                .booker(user)
+                .status(Status.APPROVED)
+                .build());
+        manager.persistAndFlush(Booking.builder()
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .item(item)
+                .booker(user2)
+                .status(Status.WAITING)
+                .build());
+
+        List<Long> userItemIds = itemRepository.findIdsReferencingUser(user.getId());
+        List<Long> user2ItemIds = itemRepository.findIdsReferencingUser(user2.getId());
+
+        assertThat(userItemIds, containsInAnyOrder(item.getId(), item2.getId(), item3.getId()));
+        assertThat(user2ItemIds, containsInAnyOrder(item.getId(), item3.getId()));
+    }
+
 }
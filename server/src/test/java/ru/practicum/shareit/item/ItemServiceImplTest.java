@@ -8,6 +8,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
@@ -16,9 +18,13 @@ import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemView;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.item.service.ItemViewCache;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
@@ -27,6 +33,8 @@ import ru.practicum.shareit.user.mapper.UserDtoMapper;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.LongFunction;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -46,6 +54,12 @@ class ItemServiceImplTest {
     BookingRepository bookingRepository;
     @Mock
     CommentRepository commentRepository;
+    @Mock
+    ItemRequestRepository itemRequestRepository;
+    @Mock
+    ItemViewCache itemViewCache;
+    @Mock
+    PlatformTransactionManager transactionManager;
 
     final long itemId = 1L;
     final long userId = 1L;
@@ -68,17 +82,21 @@ class ItemServiceImplTest {
     @DisplayName("Получение Item по id")
     @Test
     void testGetById() {
+        loadThroughCache();
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
 
         ItemDtoBooking result = itemService.getById(itemId);
 
         assertEquals(item.getName(), result.getName());
         verify(itemRepository).findById(itemId);
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        verify(transactionManager).commit(any());
     }
 
     @DisplayName("Получение по id несуществующей вещи")
     @Test
     void testGetByIdNotFound() {
+        loadThroughCache();
         when(itemRepository.findById(itemId)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> itemService.getById(itemId));
@@ -95,6 +113,36 @@ class ItemServiceImplTest {
         assertEquals(2, result.size());
         assertEquals("Item 1", result.get(0).getName());
         assertEquals("Item 2", result.get(1).getName());
+        verifyNoInteractions(bookingRepository, commentRepository);
+    }
+
+    @DisplayName("Получение вещей владельца с бронированиями и отзывами")
+    @Test
+    void testGetOwnerItems() {
+        when(userService.getById(userId)).thenReturn(UserDtoMapper.mapToUserDto(owner));
+        when(itemRepository.findByOwner(owner)).thenReturn(items);
+        Booking booking = Booking.builder()
+                .id(1L)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .item(items.get(1))
+                .booker(UserDtoMapper.mapToUser(booker))
+                .status(Status.WAITING)
+                .build();
+        when(bookingRepository.findByItem_idInAndStatusOrderByStartAsc(List.of(1L, 2L), Status.WAITING))
+                .thenReturn(List.of(booking));
+        when(commentRepository.findByItem_idIn(List.of(1L, 2L)))
+                .thenReturn(List.of(savedComment));
+
+        List<ItemDtoBooking> result = itemService.getOwnerItems(userId);
+
+        assertEquals(2, result.size());
+        assertEquals("Item 1", result.get(0).getName());
+        assertNull(result.get(0).getLastBooking());
+        assertEquals(1, result.get(0).getComments().size());
+        assertEquals("Item 2", result.get(1).getName());
+        assertEquals(booking.getId(), result.get(1).getLastBooking().getId());
+        assertTrue(result.get(1).getComments().isEmpty());
     }
 
     @DisplayName("Добавление валидной вещи")
@@ -108,6 +156,39 @@ class ItemServiceImplTest {
         verify(itemRepository).save(any(Item.class));
     }
 
+    @DisplayName("Импорт вещей: владелец и запросы загружаются один раз на весь пакет")
+    @Test
+    void testAddAllItems() {
+        ItemRequest itemRequest = ItemRequest.builder().id(5L).description("Нужна дрель").build();
+        List<NewItemRequest> requests = List.of(
+                NewItemRequest.builder().name("Дрель").description("Ударная").available(true).requestId(5L).build(),
+                NewItemRequest.builder().name("Пила").description("Ручная").available(true).requestId(5L).build(),
+                request);
+        when(userService.getById(userId)).thenReturn(UserDtoMapper.mapToUserDto(owner));
+        when(itemRequestRepository.findAllById(Set.of(5L))).thenReturn(List.of(itemRequest));
+        when(itemRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<ItemDto> result = itemService.addAll(userId, requests);
+
+        assertEquals(List.of("Дрель", "Пила", "New Item"), result.stream().map(ItemDto::getName).toList());
+        assertEquals(5L, result.getFirst().getItemRequest().getId());
+        assertNull(result.getLast().getItemRequest());
+        verify(userService).getById(userId);
+        verify(itemRequestRepository).findAllById(Set.of(5L));
+    }
+
+    @DisplayName("Импорт вещей с несуществующим запросом")
+    @Test
+    void testAddAllItemsRequestNotFound() {
+        List<NewItemRequest> requests = List.of(
+                NewItemRequest.builder().name("Дрель").description("Ударная").available(true).requestId(5L).build());
+        when(userService.getById(userId)).thenReturn(UserDtoMapper.mapToUserDto(owner));
+        when(itemRequestRepository.findAllById(Set.of(5L))).thenReturn(List.of());
+
+        assertThrows(NotFoundException.class, () -> itemService.addAll(userId, requests));
+        verify(itemRepository, never()).saveAll(anyList());
+    }
+
     @DisplayName("Обновление валидной вещи")
     @Test
     void testUpdateItem() {
@@ -120,6 +201,7 @@ class ItemServiceImplTest {
         assertEquals("Updated Name", result.getName());
         assertEquals("Updated Description", result.getDescription());
         verify(itemRepository).save(any(Item.class));
+        verify(itemViewCache).invalidate(itemId, "item");
     }
 
     @DisplayName("Обновление несуществующей вещи")
@@ -146,11 +228,11 @@ class ItemServiceImplTest {
     @Test
     void testSearchItem() {
         String searchQuery = "test";
-        User owner1 = User.builder().id(1L).build();
-        User owner2 = User.builder().id(2L).build();
-        List<Item> items = List.of(
-                Item.builder().id(1L).name("Test Item 1").owner(owner1).build(),
-                Item.builder().id(2L).name("Another Test").owner(owner2).build()
+        List<ItemView> items = List.of(
+                new ItemView(1L, "Test Item 1", null, true, 1L, null, null,
+                        null, null, null, null, null, null),
+                new ItemView(2L, "Another Test", null, true, 2L, null, null,
+                        null, null, null, null, null, null)
         );
 
         when(itemRepository.searchItem(searchQuery)).thenReturn(items);
@@ -160,6 +242,8 @@ class ItemServiceImplTest {
         assertEquals(2, result.size());
         assertEquals("Test Item 1", result.get(0).getName());
         assertEquals("Another Test", result.get(1).getName());
+        assertEquals(2L, result.get(1).getOwner().getId());
+        assertNull(result.get(1).getItemRequest());
     }
 
     @Test
@@ -208,6 +292,7 @@ class ItemServiceImplTest {
         assertNotNull(result.getId());
         assertEquals("New comment", result.getText());
         verify(commentRepository).save(any(Comment.class));
+        verify(itemViewCache).invalidate(itemId, "comment");
     }
 
     @DisplayName("Ошибка добавления комментария до истечения срока бронирования")
@@ -219,7 +304,7 @@ class ItemServiceImplTest {
         Booking booking = Booking.builder()
                 .id(1L)
                 .start(LocalDateTime.of(2025, 5, 5, 11, 11, 11))
-                .end(LocalDateTime.of(2025, 9, 7, 11, 11, 11))
+                .end(LocalDateTime.now().plusDays(1))
                 .booker(UserDtoMapper.mapToUser(booker))
                 .item(item)
                 .status(Status.APPROVED)
@@ -240,4 +325,9 @@ class ItemServiceImplTest {
 
         assertThrows(NoAccessAddCommentException.class, () -> itemService.addComment(requestComment, itemId, userId));
     }
+
+    private void loadThroughCache() {
+        when(itemViewCache.get(eq(itemId), any())).thenAnswer(invocation ->
+                invocation.<LongFunction<ItemDtoBooking>>getArgument(1).apply(itemId));
+    }
 }
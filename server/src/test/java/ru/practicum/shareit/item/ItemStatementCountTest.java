@@ -0,0 +1,135 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.dto.ItemDtoBooking;
+import ru.practicum.shareit.item.dto.NewItemRequest;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.item.service.ItemViewCache;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.notNullValue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ItemServiceImpl.class, UserServiceImpl.class, ItemViewCache.class, SimpleMeterRegistry.class})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ItemStatementCountTest {
+    final ItemService itemService;
+    final TestEntityManager manager;
+    final EntityManagerFactory entityManagerFactory;
+    Statistics statistics;
+
+    @BeforeEach
+    void beforeEach() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @DisplayName("Количество запросов к БД не зависит от числа вещей владельца")
+    @Test
+    void getOwnerItemsStatementCountIsConstant() {
+        User singleOwner = persistItemsWithBookingsAndComments("single", 1);
+        User manyOwner = persistItemsWithBookingsAndComments("many", 20);
+
+        long singleCount = countStatements(singleOwner, 1);
+        long manyCount = countStatements(manyOwner, 20);
+
+        assertThat(manyCount, equalTo(singleCount));
+    }
+
+    @DisplayName("Импорт вещей вставляет их пакетами, а не по одной")
+    @Test
+    void addAllInsertsInBatches() {
+        User owner = manager.persist(User.builder()
+                .name("importer")
+                .email("importer@mail.ru")
+                .build());
+        List<NewItemRequest> requests = IntStream.range(0, 120)
+                .mapToObj(i -> NewItemRequest.builder()
+                        .name("вещь " + i)
+                        .description("описание " + i)
+                        .available(true)
+                        .build())
+                .toList();
+        manager.flush();
+        statistics.clear();
+
+        itemService.addAll(owner.getId(), requests);
+        manager.flush();
+
+        assertThat(statistics.getEntityInsertCount(), equalTo(120L));
+        assertThat(statistics.getPrepareStatementCount(), lessThan(12L));
+    }
+
+    private long countStatements(User owner, int expectedItems) {
+        manager.clear();
+        statistics.clear();
+        List<ItemDtoBooking> items = itemService.getOwnerItems(owner.getId());
+        assertThat(items.size(), equalTo(expectedItems));
+        items.forEach(item -> {
+            assertThat(item.getLastBooking(), notNullValue());
+            assertThat(item.getComments().size(), equalTo(1));
+        });
+        return statistics.getPrepareStatementCount();
+    }
+
+    private User persistItemsWithBookingsAndComments(String prefix, int count) {
+        User owner = manager.persist(User.builder()
+                .name(prefix)
+                .email(prefix + "@mail.ru")
+                .build());
+        for (int i = 0; i < count; i++) {
+            Item item = manager.persist(Item.builder()
+                    .name("вещь " + i)
+                    .description("описание " + i)
+                    .available(true)
+                    .owner(owner)
+                    .build());
+            User booker = manager.persist(User.builder()
+                    .name(prefix + "booker" + i)
+                    .email(prefix + "booker" + i + "@mail.ru")
+                    .build());
+            manager.persist(Booking.builder()
+                    .start(LocalDateTime.now().plusDays(1))
+                    .end(LocalDateTime.now().plusDays(2))
+                    .item(item)
+                    .booker(booker)
+                    .status(Status.WAITING)
+                    .build());
+            manager.persist(Comment.builder()
+                    .text("комментарий " + i)
+                    .item(item)
+                    .author(booker)
+                    .created(Instant.now())
+                    .build());
+        }
+        manager.flush();
+        return owner;
+    }
+}
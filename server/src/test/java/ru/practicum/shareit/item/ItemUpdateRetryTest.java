@@ -0,0 +1,79 @@
+package ru.practicum.shareit.item;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.UpdateItemRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.service.ItemViewCache;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// регионы кэша второго уровня общие для JVM, поэтому отделяем их от остальных тестовых контекстов
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.jpa.properties.hibernate.cache.region_prefix=item-update-retry")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ItemUpdateRetryTest {
+    final ItemService itemService;
+    final ItemRepository itemRepository;
+    final UserRepository userRepository;
+    final PlatformTransactionManager transactionManager;
+    @SpyBean
+    ItemViewCache itemViewCache;
+
+    @DisplayName("Изменение вещи, проигравшее параллельному изменению по версии, повторяется на свежей версии")
+    @Test
+    void updateRetriesAfterConcurrentChange() {
+        User owner = userRepository.save(User.builder().name("owner").email("retry-owner@mail.ru").build());
+        Item item = itemRepository.save(Item.builder()
+                .name("Дрель")
+                .description("Ударная дрель")
+                .available(true)
+                .owner(owner)
+                .build());
+
+        TransactionTemplate concurrent = new TransactionTemplate(transactionManager);
+        concurrent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        AtomicBoolean changed = new AtomicBoolean();
+        // первая попытка уже прочитала вещь; другая транзакция успевает изменить её и поднять версию
+        doAnswer(invocation -> {
+            if (changed.compareAndSet(false, true)) {
+                concurrent.executeWithoutResult(status -> {
+                    Item other = itemRepository.findById(item.getId()).orElseThrow();
+                    other.setDescription("Дрель с кейсом");
+                });
+            }
+            return invocation.callRealMethod();
+        }).when(itemViewCache).invalidate(eq(item.getId()), eq("item"));
+
+        ItemDto result = itemService.update(owner.getId(), item.getId(),
+                UpdateItemRequest.builder().name("Перфоратор").build());
+
+        Item saved = itemRepository.findById(item.getId()).orElseThrow();
+        assertEquals("Перфоратор", result.getName());
+        assertEquals("Перфоратор", saved.getName());
+        assertEquals("Дрель с кейсом", saved.getDescription());
+        assertEquals(item.getVersion() + 2, saved.getVersion());
+        verify(itemViewCache, times(2)).invalidate(item.getId(), "item");
+    }
+}
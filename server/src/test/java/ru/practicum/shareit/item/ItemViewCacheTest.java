@@ -0,0 +1,137 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDtoBooking;
+import ru.practicum.shareit.item.service.ItemViewCache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class ItemViewCacheTest {
+    final long itemId = 1L;
+    final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    final ItemViewCache cache = new ItemViewCache(100, Duration.ofMinutes(10), registry);
+    final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void afterEach() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @DisplayName("Одновременные промахи по одной вещи приводят к одной загрузке")
+    @Test
+    void concurrentMissesLoadOnce() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<ItemDtoBooking>> results = IntStream.range(0, 16)
+                    .mapToObj(i -> executor.submit(() -> cache.get(itemId, id -> {
+                        await(release);
+                        return load(id);
+                    })))
+                    .toList();
+            Thread.sleep(100);
+            release.countDown();
+            ItemDtoBooking first = results.getFirst().get(5, TimeUnit.SECONDS);
+            for (Future<ItemDtoBooking> result : results) {
+                assertSame(first, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+    }
+
+    @DisplayName("Повторное чтение берётся из кэша и учитывается в метриках")
+    @Test
+    void secondReadIsHit() {
+        ItemDtoBooking first = cache.get(itemId, this::load);
+        ItemDtoBooking second = cache.get(itemId, this::load);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, registry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    @DisplayName("В транзакции запись сбрасывается только после её завершения")
+    @Test
+    void invalidationWaitsForTransactionCompletion() {
+        cache.get(itemId, this::load);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.invalidate(itemId, "booking");
+        cache.get(itemId, this::load);
+        assertEquals(1, loads.get());
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations,
+                TransactionSynchronization.STATUS_COMMITTED);
+        cache.get(itemId, this::load);
+
+        assertEquals(2, loads.get());
+        assertEquals(1.0, registry.get("shareit.item.cache.invalidations").tag("reason", "booking").counter().count());
+    }
+
+    @DisplayName("Ошибка загрузки не кэшируется и пробрасывается без обёртки")
+    @Test
+    void failedLoadIsNotCached() {
+        assertThrows(NotFoundException.class, () -> cache.get(itemId, id -> {
+            loads.incrementAndGet();
+            throw new NotFoundException("Предмет не найден");
+        }));
+        cache.get(itemId, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @DisplayName("Error при загрузке завершает ожидание и не оставляет вещь заблокированной")
+    @Test
+    void loaderErrorDoesNotBlockLaterReads() {
+        assertThrows(StackOverflowError.class, () -> cache.get(itemId, id -> {
+            loads.incrementAndGet();
+            throw new StackOverflowError();
+        }));
+        ItemDtoBooking item = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> cache.get(itemId, this::load));
+
+        assertEquals(itemId, item.getId());
+        assertEquals(2, loads.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ItemDtoBooking load(long id) {
+        loads.incrementAndGet();
+        return ItemDtoBooking.builder().id(id).name("вещь " + id).build();
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Marker;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SamplingFilterTest {
+    final LoggerContext context = new LoggerContext();
+    final Logger itemLogger = context.getLogger("ru.practicum.shareit.item.service.ItemServiceImpl");
+    final Logger userLogger = context.getLogger("ru.practicum.shareit.user.service.UserServiceImpl");
+    SamplingFilter filter;
+
+    @BeforeEach
+    void beforeEach() {
+        filter = new SamplingFilter();
+        filter.setLoggerPrefix("ru.practicum.shareit.item");
+        filter.setRate(10);
+        filter.start();
+    }
+
+    @DisplayName("Из событий с маркером пропускается каждое десятое")
+    @Test
+    void passesEveryNthSampledEvent() {
+        long passed = IntStream.range(0, 100)
+                .mapToObj(i -> filter.decide(event(itemLogger, Level.INFO, SamplingFilter.SAMPLED)))
+                .filter(reply -> reply == FilterReply.NEUTRAL)
+                .count();
+
+        assertEquals(10, passed);
+    }
+
+    @DisplayName("События без маркера, другого пакета и уровня WARN не отбрасываются")
+    @Test
+    void ignoresUnmarkedForeignAndWarnEvents() {
+        for (int i = 0; i < 20; i++) {
+            assertEquals(FilterReply.NEUTRAL, filter.decide(event(itemLogger, Level.INFO, null)));
+            assertEquals(FilterReply.NEUTRAL, filter.decide(event(userLogger, Level.INFO, SamplingFilter.SAMPLED)));
+            assertEquals(FilterReply.NEUTRAL, filter.decide(event(itemLogger, Level.WARN, SamplingFilter.SAMPLED)));
+        }
+    }
+
+    private LoggingEvent event(Logger logger, Level level, Marker marker) {
+        LoggingEvent event = new LoggingEvent(Logger.FQCN, logger, level, "сообщение", null, null);
+        if (marker != null) {
+            event.addMarker(marker);
+        }
+        return event;
+    }
+}
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.request;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,8 +12,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.config.SmileConfig;
+import ru.practicum.shareit.exception.BookingStatusConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.request.controller.ItemRequestController;
@@ -27,6 +32,7 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -34,6 +40,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @AutoConfigureMockMvc
 @WebMvcTest(controllers = ItemRequestController.class)
+@Import(SmileConfig.class)
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class ItemRequestControllerTest {
     @Autowired
@@ -196,4 +203,35 @@ public class ItemRequestControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(content().string(containsString("ItemRequest not found")));
     }
+
+    @DisplayName("Список запросов отдаётся в Smile, если gateway запрашивает его в Accept")
+    @Test
+    void findAllRequestSmileTest() throws Exception {
+        MediaType smile = MediaType.parseMediaType("application/x-jackson-smile");
+        when(itemRequestService.findAll()).thenReturn(requestsDto);
+
+        byte[] body = mockMvc.perform(get("/requests/all")
+                        .accept(smile, MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(smile))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode requestsNode = mapper.copyWith(new SmileFactory()).readTree(body);
+        assertEquals(requestDto.getId(), requestsNode.get(0).get("id").asLong());
+        assertEquals(requestDto.getDescription(), requestsNode.get(0).get("description").asText());
+        assertEquals(requestDto.getCreated().toString(), requestsNode.get(0).get("created").asText());
+    }
+
+    @DisplayName("Ошибка, собранная строкой JSON, остаётся JSON при запросе Smile")
+    @Test
+    void errorStaysJsonForSmileAcceptTest() throws Exception {
+        when(itemRequestService.findById(1L))
+                .thenThrow(new BookingStatusConflictException("conflict"));
+
+        mockMvc.perform(get("/requests/1")
+                        .accept(MediaType.parseMediaType("application/x-jackson-smile"), MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.reason", is("conflict")));
+    }
 }
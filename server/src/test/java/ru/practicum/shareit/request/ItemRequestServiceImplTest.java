@@ -16,6 +16,7 @@ import ru.practicum.shareit.request.dto.ItemRequestListAnswerDto;
 import ru.practicum.shareit.request.dto.NewRequest;
 import ru.practicum.shareit.request.mapper.RequestDtoMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestView;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -150,11 +151,8 @@ public class ItemRequestServiceImplTest {
         when(itemRequestRepository.findByRequestorId(userId))
                 .thenReturn(List.of(itemRequest, itemRequest2));
 
-        when(itemRepository.findByRequestId(itemRequest.getId()))
-                .thenReturn(List.of(item1));
-
-        when(itemRepository.findByRequestId(itemRequest2.getId()))
-                .thenReturn(List.of(item2));
+        when(itemRepository.findByRequestIdIn(List.of(itemRequest.getId(), itemRequest2.getId())))
+                .thenReturn(List.of(item1, item2));
 
         List<ItemRequestListAnswerDto> result = itemRequestService.findByRegistorId(userId);
 
@@ -168,8 +166,7 @@ public class ItemRequestServiceImplTest {
         assertEquals(1, result.get(1).getItems().size());
 
         verify(itemRequestRepository).findByRequestorId(userId);
-        verify(itemRepository).findByRequestId(itemRequest.getId());
-        verify(itemRepository).findByRequestId(itemRequest2.getId());
+        verify(itemRepository).findByRequestIdIn(List.of(itemRequest.getId(), itemRequest2.getId()));
     }
 
     @DisplayName("Получение пустого списка запросов пользователя")
@@ -187,19 +184,20 @@ public class ItemRequestServiceImplTest {
     @DisplayName("Получение всех запросов от всех пользователей")
     @Test
     void testFindAllRequestForAllUsers() {
-        ItemRequest itemRequest2 = ItemRequest.builder()
-                .id(2L)
-                .description("Request 2")
-                .requestor(requestor)
-                .build();
+        ItemRequestView view = new ItemRequestView(2L, "Request 2", null,
+                requestor.getId(), requestor.getName(), requestor.getEmail());
+        ItemRequestView view2 = new ItemRequestView(itemRequest.getId(), itemRequest.getDescription(),
+                itemRequest.getCreated(), requestor.getId(), requestor.getName(), requestor.getEmail());
 
-        when(itemRequestRepository.findAll()).thenReturn(List.of(itemRequest, itemRequest2));
+        when(itemRequestRepository.findAllViews()).thenReturn(List.of(view, view2));
 
         List<ItemRequestDto> result = itemRequestService.findAll();
 
         assertEquals(2, result.size());
+        assertEquals(2L, result.getFirst().getId());
+        assertEquals(requestor.getId(), result.getFirst().getRequestor().getId());
 
-        verify(itemRequestRepository).findAll();
+        verify(itemRequestRepository).findAllViews();
     }
 
     @DisplayName("Получение запроса по id")
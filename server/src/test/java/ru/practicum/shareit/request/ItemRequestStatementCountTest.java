@@ -0,0 +1,111 @@
+package ru.practicum.shareit.request;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemViewCache;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestListAnswerDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ItemRequestServiceImpl.class, UserServiceImpl.class, ItemViewCache.class, SimpleMeterRegistry.class})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ItemRequestStatementCountTest {
+    final ItemRequestService itemRequestService;
+    final TestEntityManager manager;
+    final EntityManagerFactory entityManagerFactory;
+    Statistics statistics;
+
+    @BeforeEach
+    void beforeEach() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @DisplayName("Количество запросов к БД не зависит от числа запросов пользователя")
+    @Test
+    void findByRegistorIdStatementCountIsConstant() {
+        User singleRequestor = persistRequestsWithAnswers("single", 1);
+        User manyRequestor = persistRequestsWithAnswers("many", 20);
+
+        long singleCount = countStatements(singleRequestor);
+        long manyCount = countStatements(manyRequestor);
+
+        assertThat(manyCount, equalTo(singleCount));
+        assertThat(manyCount, equalTo(2L));
+    }
+
+    @DisplayName("Список всех запросов читается одним запросом без загрузки сущностей")
+    @Test
+    void findAllReadsViewsInSingleStatement() {
+        persistRequestsWithAnswers("all", 5);
+        manager.clear();
+        statistics.clear();
+
+        List<ItemRequestDto> requests = itemRequestService.findAll();
+
+        assertThat(requests.size(), equalTo(5));
+        assertThat(requests.getFirst().getDescription(), equalTo("запрос 4"));
+        assertThat(requests.getFirst().getRequestor().getName(), equalTo("all"));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(1L));
+        assertThat(statistics.getEntityLoadCount(), equalTo(0L));
+    }
+
+    private long countStatements(User requestor) {
+        manager.clear();
+        statistics.clear();
+        List<ItemRequestListAnswerDto> requests = itemRequestService.findByRegistorId(requestor.getId());
+        requests.forEach(request -> assertThat(request.getItems().size(), equalTo(1)));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private User persistRequestsWithAnswers(String prefix, int count) {
+        User requestor = manager.persist(User.builder()
+                .name(prefix)
+                .email(prefix + "@mail.ru")
+                .build());
+        for (int i = 0; i < count; i++) {
+            ItemRequest request = manager.persist(ItemRequest.builder()
+                    .description("запрос " + i)
+                    .requestor(requestor)
+                    .created(LocalDateTime.now())
+                    .build());
+            User owner = manager.persist(User.builder()
+                    .name(prefix + "owner" + i)
+                    .email(prefix + "owner" + i + "@mail.ru")
+                    .build());
+            manager.persist(Item.builder()
+                    .name("вещь " + i)
+                    .description("ответ на запрос " + i)
+                    .available(true)
+                    .owner(owner)
+                    .request(request)
+                    .build());
+        }
+        manager.flush();
+        return requestor;
+    }
+}
@@ -108,10 +108,7 @@ public class UserRepositoryTest {
                 .email(firstUser.getEmail())
                 .build();
 
-        assertThrows(DataIntegrityViolationException.class, () -> {
-            userRepository.save(secondUser);
-            manager.flush();
-        });
+        assertThrows(DataIntegrityViolationException.class, () -> userRepository.saveAndFlush(secondUser));
     }
 
 }
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.user;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+// без общей транзакции теста: каждый вызов репозитория открывает свой контекст персистентности,
+// поэтому повторное чтение может обслужить только кэш второго уровня
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class UserSecondLevelCacheTest {
+    final UserRepository userRepository;
+    final EntityManagerFactory entityManagerFactory;
+    User user;
+
+    @AfterEach
+    void afterEach() {
+        userRepository.deleteById(user.getId());
+    }
+
+    @DisplayName("Повторный findById пользователя обслуживается кэшем второго уровня без второго SELECT")
+    @Test
+    void repeatedFindByIdHitsSecondLevelCache() {
+        user = userRepository.save(User.builder().name("cached").email("cached@mail.ru").build());
+        entityManagerFactory.getCache().evictAll();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        User first = userRepository.findById(user.getId()).orElseThrow();
+        User second = userRepository.findById(user.getId()).orElseThrow();
+
+        assertThat(second, equalTo(first));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(1L));
+        assertThat(statistics.getSecondLevelCachePutCount(), equalTo(1L));
+        assertThat(statistics.getSecondLevelCacheHitCount(), equalTo(1L));
+    }
+}
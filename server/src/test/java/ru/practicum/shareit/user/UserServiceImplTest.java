@@ -10,11 +10,14 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import ru.practicum.shareit.exception.DuplicatedDataException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemViewCache;
 import ru.practicum.shareit.user.dto.NewUserRequest;
 import ru.practicum.shareit.user.dto.UpdateUserRequest;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserDtoMapper;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.model.UserView;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.service.UserServiceImpl;
 
@@ -33,6 +36,12 @@ class UserServiceImplTest {
     @Mock
     UserRepository userRepository;
 
+    @Mock
+    ItemRepository itemRepository;
+
+    @Mock
+    ItemViewCache itemViewCache;
+
     final Long userId = 1L;
     final User user = User.builder()
             .id(userId)
@@ -60,24 +69,26 @@ class UserServiceImplTest {
                 .email("user2@example.com")
                 .build();
 
-        when(userRepository.findAll()).thenReturn(List.of(user, user2));
+        when(userRepository.findAllViews()).thenReturn(List.of(
+                new UserView(user.getId(), user.getName(), user.getEmail()),
+                new UserView(user2.getId(), user2.getName(), user2.getEmail())));
         List<UserDto> result = userService.getAll();
 
         assertEquals(2, result.size());
         assertEquals(UserDtoMapper.mapToUserDto(user), result.get(0));
         assertEquals(UserDtoMapper.mapToUserDto(user2), result.get(1));
-        verify(userRepository).findAll();
+        verify(userRepository).findAllViews();
     }
 
     @DisplayName("Получение пустого листа пользователей")
     @Test
     void testGetAllEmptyList() {
-        when(userRepository.findAll()).thenReturn(List.of());
+        when(userRepository.findAllViews()).thenReturn(List.of());
 
         List<UserDto> result = userService.getAll();
 
         assertTrue(result.isEmpty());
-        verify(userRepository).findAll();
+        verify(userRepository).findAllViews();
     }
 
     @DisplayName("Получение валидного пользователя")
@@ -146,6 +157,7 @@ class UserServiceImplTest {
 
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
         when(userRepository.save(any(User.class))).thenReturn(updatedUser);
+        when(itemRepository.findIdsReferencingUser(userId)).thenReturn(List.of(1L, 4L));
 
         UserDto result = userService.update(userId, requestUpdate);
 
@@ -153,6 +165,7 @@ class UserServiceImplTest {
         assertEquals("updated@email.com", result.getEmail());
         verify(userRepository).save(any(User.class));
         verify(userRepository).findById(userId);
+        verify(itemViewCache).invalidate(List.of(1L, 4L), "user");
     }
 
     @DisplayName("Обновление несуществующего пользователя")
@@ -189,11 +202,13 @@ class UserServiceImplTest {
     @Test
     void testDeleteUserSuccess() {
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(itemRepository.findIdsReferencingUser(userId)).thenReturn(List.of(2L, 3L));
 
         userService.deleteUser(userId);
 
         verify(userRepository).findById(userId);
         verify(userRepository).delete(user);
+        verify(itemViewCache).invalidate(List.of(2L, 3L), "user");
     }
 
     @DisplayName("Удаление несуществуюшего пользователя")
@@ -0,0 +1,10 @@
+INSERT INTO users (name, email) VALUES ('owner', 'owner@mail.ru'), ('booker', 'booker@mail.ru');
+
+INSERT INTO request (description, requestor_id, created) VALUES ('нужна дрель', 2, '2025-01-01 10:00:00');
+
+INSERT INTO items (name, description, available, owner_id, request_id) VALUES ('дрель', 'ударная', true, 1, 1);
+
+INSERT INTO bookings (start_time, end_time, item_id, booker_id, status)
+VALUES ('2025-01-02 10:00:00', '2025-01-03 10:00:00', 1, 2, 'WAITING');
+
+INSERT INTO comments (text, item_id, author_id, created) VALUES ('отличная дрель', 1, 2, '2025-01-04 10:00:00');